@@ -0,0 +1,72 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.ProductSuggestionResponse;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookups as a shopper types: one request per keystroke, across the whole catalog or one category.
+ * Sample-time mode reports the latency percentiles; the target is a p99 under 1 ms at every dataset size.
+ * Setup prints the index's estimated heap, to be checked against the memory budget per product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+    private static final int LIMIT = Integer.parseInt(AppConstants.SUGGESTION_LIMIT);
+    private static final String[] TYPED = {"r", "re", "red", "red ", "red s", "red sh", "w", "wi", "wireless h",
+            "k", "ke", "kettle", "1", "12", "123", "1234", "vintage l", "p", "premium wa", "zz"};
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"catalog", "category"})
+    private String scope;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long categoryId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(datasetSize, Map.of());
+        productService = context.getBean(ProductService.class);
+        categoryId = scope.equals("category") ? 1L : null;
+        long bytes = context.getBean(ProductAutocompleteIndex.class).estimatedBytes();
+        System.out.printf("%d products: %d bytes, %d bytes per product%n", datasetSize, bytes, bytes / datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductSuggestionResponse suggestProducts() {
+        String typed = TYPED[next++ % TYPED.length];
+        return productService.suggestProducts(typed, categoryId, LIMIT);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds a deterministic catalog.
+ */
+final class CatalogFixture {
+
+    static final int CATEGORY_COUNT = 10;
+    static final String[] ADJECTIVES = {"red", "blue", "classic", "wireless", "compact", "organic", "premium", "vintage"};
+    static final String[] NOUNS = {"shirt", "headphones", "kettle", "backpack", "lamp", "notebook", "sneakers", "watch"};
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private CatalogFixture() {
+    }
+
+    static ConfigurableApplicationContext start(int datasetSize, Map<String, Object> properties) {
+        return start(datasetSize, WebApplicationType.NONE, properties);
+    }
+
+    static ConfigurableApplicationContext start(int datasetSize, WebApplicationType webApplicationType,
+                                                Map<String, Object> properties, Class<?>... extraSources) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.root", "WARN");
+        // Measure the service and database, not the response cache
+        defaults.put("project.cache.maximum-size", "0");
+        defaults.putAll(properties);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SbEcomApplication.class)
+                .sources(extraSources)
+                .web(webApplicationType)
+                .properties(defaults)
+                .run();
+        seed(context.getBean(JdbcTemplate.class), datasetSize);
+        // Seeded behind the application's back, so everything built at startup is rebuilt
+        context.getBean(ProductSearchIndex.class).rebuild();
+        context.getBean(ProductFacetIndex.class).rebuild();
+        context.getBean(ProductAutocompleteIndex.class).rebuild();
+        context.getBean(CatalogRowCounts.class).rebuild();
+        return context;
+    }
+
+    static String productName(long productId) {
+        return ADJECTIVES[(int) (productId % ADJECTIVES.length)] + " " + NOUNS[(int) (productId / ADJECTIVES.length % NOUNS.length)] + " " + productId;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int datasetSize) {
+        List<Object[]> categories = new ArrayList<>();
+        for (long categoryId = 1; categoryId <= CATEGORY_COUNT; categoryId++) {
+            categories.add(new Object[]{categoryId, "Category " + categoryId});
+        }
+        jdbcTemplate.batchUpdate("insert into categories (category_id, category_name) values (?, ?)", categories);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long productId = 1; productId <= datasetSize; productId++) {
+            double price = 1 + random.nextInt(100_000) / 100.0;
+            double discount = random.nextInt(60);
+            batch.add(new Object[]{productId, productName(productId), "Description of " + productName(productId),
+                    "default.png", random.nextInt(500), price, discount, price - discount * 0.01 * price,
+                    productId % CATEGORY_COUNT + 1, 0});
+            if (batch.size() == BATCH_SIZE) {
+                insertProducts(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertProducts(jdbcTemplate, batch);
+        }
+
+        // Leave room for the pooled sequence optimizer so application inserts never collide with seeded ids
+        jdbcTemplate.execute("alter sequence category_seq restart with " + (CATEGORY_COUNT + 100));
+        jdbcTemplate.execute("alter sequence product_seq restart with " + (datasetSize + 100));
+    }
+
+    private static void insertProducts(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into products (product_id, product_name, description, image_url, quantity, "
+                + "price, discount, special_price, category_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.project.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving one image file over a loopback socket, the way ImageController does it. The score is requests
+ * per second. Each mode counts the bytes it moves through a buffer in the JVM, and the average per
+ * request is printed once per trial as "bytes copied per request".
+ *
+ * <ul>
+ *   <li>{@code transferTo}: FileChannel.transferTo straight into the socket channel, which the kernel
+ *       serves with sendfile(2) like Tomcat's sendfile path.</li>
+ *   <li>{@code transferToStream}: FileChannel.transferTo into a channel over the socket's output stream,
+ *       the controller's fallback when the connector has no sendfile support.</li>
+ *   <li>{@code heapCopy}: reading the file into a heap buffer and writing that to the stream, what a
+ *       plain Resource handler does.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageServingBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int fileSize;
+
+    @Param({"transferTo", "transferToStream", "heapCopy"})
+    private String mode;
+
+    private Path file;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private OutputStream clientStream;
+    private Thread drain;
+    private long requests;
+    private long copiedBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("image-serving", ".jpg");
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        Files.write(file, content);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        // Stands in for the browser: reads and discards everything, so the sender never stalls on a full buffer
+        drain = Thread.ofPlatform().name("image-serving-drain").daemon().start(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            try (accepted) {
+                while (accepted.read(buffer) >= 0) {
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                // Closed at tear-down
+            }
+        });
+        clientStream = Channels.newOutputStream(client);
+        requests = 0;
+        copiedBytes = 0;
+    }
+
+    @Benchmark
+    public long serveImage() throws IOException {
+        long sent = switch (mode) {
+            case "transferTo" -> transferTo(client);
+            case "transferToStream" -> transferTo(new CountingChannel(Channels.newChannel(clientStream)));
+            case "heapCopy" -> heapCopy();
+            default -> throw new IllegalArgumentException(mode);
+        };
+        requests++;
+        return sent;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        System.out.printf("%s/%d: %d bytes copied per request%n", mode, fileSize, requests == 0 ? 0 : copiedBytes / requests);
+        client.close();
+        drain.join(5_000);
+        server.close();
+        Files.deleteIfExists(file);
+    }
+
+    private long transferTo(WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            long remaining = channel.size();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return position;
+        }
+    }
+
+    private long heapCopy() throws IOException {
+        byte[] buffer = new byte[8192];
+        long sent = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                clientStream.write(buffer, 0, read);
+                sent += read;
+            }
+        }
+        copiedBytes += sent;
+        return sent;
+    }
+
+    // The JDK hands transferTo into an arbitrary channel through a buffer of its own; count what passes
+    private final class CountingChannel implements WritableByteChannel {
+
+        private final WritableByteChannel delegate;
+
+        CountingChannel(WritableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            int written = delegate.write(source);
+            copiedBytes += written;
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // The socket outlives the request
+        }
+    }
+}
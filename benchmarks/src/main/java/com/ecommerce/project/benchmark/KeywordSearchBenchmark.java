@@ -0,0 +1,64 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search through the trigram index ("index") against the LIKE '%keyword%' query ("repository").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeywordSearchBenchmark {
+
+    private static final int PAGE_SIZE = Integer.parseInt(AppConstants.PAGE_SIZE);
+    private static final String[] KEYWORDS = {"wireless", "kettle", "vintage lamp", "1234", "premium watch"};
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"index", "repository"})
+    private String searchMode;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(datasetSize, Map.of("project.search.mode", searchMode));
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse searchProductsByKeyword() {
+        String keyword = KEYWORDS[next++ % KEYWORDS.length];
+        return productService.searchProductsByKeyword(keyword, 0, PAGE_SIZE, AppConstants.SORT_RELEVANCE, AppConstants.SORT_DIR);
+    }
+}
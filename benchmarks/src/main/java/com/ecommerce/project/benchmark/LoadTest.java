@@ -0,0 +1,233 @@
+package com.ecommerce.project.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test: boots the application on a random port, seeds a synthetic catalog and drives
+ * the {@link Workload} mix over HTTP from a fixed number of closed-loop clients. Reports throughput and
+ * p50/p99/p999 latency per endpoint as JSON and exits with status 1 when the budget in
+ * {@code loadtest-budget.properties} (or a regression against a baseline result) is exceeded.
+ *
+ * <p>Settings are system properties: {@code loadtest.dataset-size}, {@code loadtest.clients},
+ * {@code loadtest.warmup}, {@code loadtest.duration}, {@code loadtest.virtual-threads},
+ * {@code loadtest.result}, {@code loadtest.baseline} and {@code loadtest.budget}. With
+ * {@code loadtest.slow-clients} above zero, that many extra clients send uploads and imports at
+ * {@code loadtest.slow-client-bandwidth} bytes per second; comparing the fast endpoints with and without
+ * them, on platform and on virtual threads, shows whether slow bodies hold back the rest.
+ */
+public class LoadTest {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest";
+
+    private record EndpointStats(Recorder latency, LongAdder errors) {
+    }
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        int datasetSize = Integer.getInteger("loadtest.dataset-size", 100_000);
+        int clients = Integer.getInteger("loadtest.clients", 32);
+        int slowClients = Integer.getInteger("loadtest.slow-clients", 0);
+        int slowClientBandwidth = Integer.getInteger("loadtest.slow-client-bandwidth", 16_384);
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "15s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "60s"));
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+        Path result = Paths.get(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+        String baseline = System.getProperty("loadtest.baseline");
+
+        Path imageDir = Files.createTempDirectory("loadtest-images");
+        for (int i = 0; i < Workload.IMAGE_COUNT; i++) {
+            Files.write(imageDir.resolve(Workload.imageName(i)), Workload.png(i));
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("project.image", imageDir + "/");
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        properties.put("spring.security.user.name", USERNAME);
+        properties.put("spring.security.user.password", PASSWORD);
+        // Production cache settings: the test measures what clients would see
+        properties.put("project.cache.maximum-size", "10000");
+        // All clients share one address, so per-client rate limits would measure the limiter instead of the service
+        properties.put("project.admission.client-rate", "1000000");
+        properties.put("project.admission.client-burst", "1000");
+
+        List<String> violations;
+        ConfigurableApplicationContext context = CatalogFixture.start(datasetSize, WebApplicationType.SERVLET,
+                properties, LoadTestSecurityConfig.class);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = new Workload("http://localhost:" + port, USERNAME, PASSWORD, datasetSize, slowClientBandwidth);
+            LoadTest loadTest = new LoadTest();
+
+            System.out.printf("Warming up for %s with %d clients and %d slow clients%n", warmup, clients, slowClients);
+            loadTest.run(workload, clients, slowClients, warmup);
+            loadTest.stats.clear();
+            System.out.printf("Measuring for %s%n", duration);
+            long start = System.nanoTime();
+            loadTest.run(workload, clients, slowClients, duration);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> report = loadTest.report(workload, seconds);
+            report.put("settings", Map.of("datasetSize", datasetSize, "clients", clients,
+                    "slowClients", slowClients, "slowClientBandwidth", slowClientBandwidth,
+                    "duration", duration.toString(), "virtualThreads", virtualThreads));
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            if (result.getParent() != null) {
+                Files.createDirectories(result.getParent());
+            }
+            objectMapper.writeValue(result.toFile(), report);
+            System.out.println("Results written to " + result.toAbsolutePath());
+
+            violations = checkBudget(report, loadBudget(), baseline == null ? null : objectMapper.readTree(Paths.get(baseline).toFile()));
+        } finally {
+            context.close();
+        }
+
+        if (!violations.isEmpty()) {
+            System.err.println("Load test budget exceeded:");
+            violations.forEach(violation -> System.err.println("  " + violation));
+            System.exit(1);
+        }
+        System.out.println("Load test within budget");
+    }
+
+    private void run(Workload workload, int clients, int slowClients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients + slowClients; i++) {
+                boolean slow = i >= clients;
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Workload.Operation operation = slow ? workload.nextSlow(random) : workload.next(random);
+                        EndpointStats endpointStats = stats.computeIfAbsent(operation.name(),
+                                name -> new EndpointStats(new Recorder(3), new LongAdder()));
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(operation.request().apply(random),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (!operation.isExpected(response.statusCode())) {
+                                endpointStats.errors().increment();
+                            }
+                        } catch (IOException e) {
+                            endpointStats.errors().increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        endpointStats.latency().recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+                    }
+                });
+            }
+        }
+    }
+
+    private Map<String, Object> report(Workload workload, double seconds) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        long totalErrors = 0;
+        System.out.printf("%-22s %10s %8s %10s %10s %10s %10s%n", "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Workload.Operation operation : workload.operations()) {
+            EndpointStats endpointStats = stats.get(operation.name());
+            if (endpointStats == null) {
+                continue;
+            }
+            Histogram histogram = endpointStats.latency().getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            long errors = endpointStats.errors().sum();
+            totalRequests += requests;
+            totalErrors += errors;
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", requests);
+            endpoint.put("errors", errors);
+            endpoint.put("throughput", requests / seconds);
+            endpoint.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            endpoint.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            endpoint.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            endpoint.put("maxMs", histogram.getMaxValue() / 1000.0);
+            endpoints.put(operation.name(), endpoint);
+            System.out.printf("%-22s %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n", operation.name(), requests / seconds, errors,
+                    endpoint.get("p50Ms"), endpoint.get("p99Ms"), endpoint.get("p999Ms"), endpoint.get("maxMs"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("throughput", totalRequests / seconds);
+        report.put("errorRate", totalRequests == 0 ? 0.0 : (double) totalErrors / totalRequests);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static Properties loadBudget() throws IOException {
+        Properties budget = new Properties();
+        String location = System.getProperty("loadtest.budget");
+        try (InputStream in = location == null
+                ? LoadTest.class.getResourceAsStream("/loadtest-budget.properties")
+                : Files.newInputStream(Paths.get(location))) {
+            if (in != null) {
+                budget.load(in);
+            }
+        }
+        return budget;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> checkBudget(Map<String, Object> report, Properties budget, JsonNode baseline) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = Double.parseDouble(budget.getProperty("error-rate.max", "0.01"));
+        double errorRate = (double) report.get("errorRate");
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate, maxErrorRate));
+        }
+        double tolerance = Double.parseDouble(budget.getProperty("baseline.p99-tolerance-percent", "20"));
+
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((name, endpoint) -> {
+            double p99 = (double) endpoint.get("p99Ms");
+            String maxP99 = budget.getProperty("p99.max-ms." + name);
+            if (maxP99 != null && p99 > Double.parseDouble(maxP99)) {
+                violations.add(String.format("%s p99 %.2f ms > %s ms", name, p99, maxP99));
+            }
+            JsonNode baselineP99 = baseline == null ? null : baseline.path("endpoints").path(name).get("p99Ms");
+            if (baselineP99 != null && p99 > baselineP99.asDouble() * (1 + tolerance / 100)) {
+                violations.add(String.format("%s p99 %.2f ms regressed more than %.0f%% from baseline %.2f ms",
+                        name, p99, tolerance, baselineP99.asDouble()));
+            }
+        });
+        return violations;
+    }
+}
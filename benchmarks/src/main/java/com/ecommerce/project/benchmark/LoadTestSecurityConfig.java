@@ -0,0 +1,24 @@
+package com.ecommerce.project.benchmark;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Same authentication as the default setup (HTTP basic on every request), without CSRF tokens so that
+ * the load generator can send admin writes like any other stateless API client.
+ */
+@Configuration
+public class LoadTestSecurityConfig {
+
+    @Bean
+    public SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+}
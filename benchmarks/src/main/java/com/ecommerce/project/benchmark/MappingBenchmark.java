@@ -0,0 +1,73 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one listing page (hand-written mapper against the former ModelMapper path)
+ * and JSON serialization of the resulting ProductResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    private List<Product> products;
+    private ProductResponse productResponse;
+    private final ProductMapper productMapper = new ProductMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        Category category = new Category(1L, "Category 1", null);
+        products = new ArrayList<>(pageSize);
+        for (long productId = 1; productId <= pageSize; productId++) {
+            String name = CatalogFixture.productName(productId);
+            products.add(new Product(productId, name, "default.png", "Description of " + name, 10, 100.0, 10.0, 90.0, category, 0));
+        }
+        productResponse = new ProductResponse(handWrittenMapper(), 0, pageSize, 1_000_000L, 1_000_000 / pageSize, false, null, null);
+    }
+
+    @Benchmark
+    public List<ProductDTO> handWrittenMapper() {
+        return products.stream().map(productMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<ProductDTO> modelMapper() {
+        return products.stream().map(product -> modelMapper.map(product, ProductDTO.class)).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeProductResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productResponse);
+    }
+}
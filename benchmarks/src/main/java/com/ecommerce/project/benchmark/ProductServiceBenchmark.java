@@ -0,0 +1,100 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.BulkRepriceRequest;
+import com.ecommerce.project.payload.BulkRepriceResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.ProductService;
+import com.ecommerce.project.util.CursorCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = Integer.parseInt(AppConstants.PAGE_SIZE);
+    private static final ProductFilter NO_FILTER = new ProductFilter();
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int deepPage;
+    private String deepCursor;
+    private final AtomicLong addedProducts = new AtomicLong();
+    private final AtomicLong repricings = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(datasetSize, Map.of());
+        productService = context.getBean(ProductService.class);
+        // 90% into the catalog, reached by offset and by cursor
+        deepPage = datasetSize / PAGE_SIZE * 9 / 10;
+        long deepProductId = (long) deepPage * PAGE_SIZE;
+        deepCursor = CursorCodec.encode(AppConstants.SORT_PRODUCT_BY, deepProductId, deepProductId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse getAllProductsFirstPage() {
+        return productService.getAllProducts(0, PAGE_SIZE, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, NO_FILTER);
+    }
+
+    @Benchmark
+    public ProductResponse getAllProductsDeepPageOffset() {
+        return productService.getAllProducts(deepPage, PAGE_SIZE, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, NO_FILTER);
+    }
+
+    @Benchmark
+    public ProductResponse getAllProductsDeepPageCursor() {
+        return productService.getAllProducts(0, PAGE_SIZE, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, deepCursor, true, NO_FILTER);
+    }
+
+    @Benchmark
+    public ProductResponse searchByCategory() {
+        return productService.searchByCategory(1L, 0, PAGE_SIZE, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, NO_FILTER);
+    }
+
+    // Every category holds datasetSize / 10 products, so this shows how insert latency scales with category size
+    @Benchmark
+    public ProductDTO addProduct() {
+        ProductDTO productDTO = new ProductDTO(null, "benchmark product " + addedProducts.incrementAndGet(), null,
+                "Added by the benchmark", 10, 100.0, 10.0, 0.0);
+        return productService.addProduct(1L, productDTO);
+    }
+
+    // One set-based UPDATE over a whole category (datasetSize / 10 products)
+    @Benchmark
+    public BulkRepriceResponse repriceCategory() {
+        double discount = repricings.incrementAndGet() % 2 == 0 ? 10.0 : 20.0;
+        return productService.repriceProducts(new BulkRepriceRequest(2L, null, discount, null));
+    }
+}
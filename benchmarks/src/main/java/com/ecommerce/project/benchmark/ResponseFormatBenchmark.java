@@ -0,0 +1,109 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.payload.FacetCounts;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding one listing page as JSON, CBOR or Smile, with and without gzip, and decoding it again.
+ * The encoded size of the page is printed once per trial as "bytes per page".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectMapper objectMapper;
+    private ProductResponse productResponse;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+
+        Random random = new Random(42);
+        List<ProductDTO> content = new ArrayList<>(pageSize);
+        for (long productId = 1; productId <= pageSize; productId++) {
+            String name = CatalogFixture.productName(productId);
+            double price = 5 + random.nextInt(2_000);
+            double discount = random.nextInt(50);
+            content.add(new ProductDTO(productId, name, "default.png", "Description of " + name,
+                    random.nextInt(100), price, discount, price - discount * 0.01 * price));
+        }
+        Map<String, Long> priceBuckets = new LinkedHashMap<>();
+        for (String bucket : new String[]{"0-25", "25-50", "50-100", "100-250", "250-500", "500-1000", "1000+"}) {
+            priceBuckets.put(bucket, (long) random.nextInt(200_000));
+        }
+        Map<Long, Long> categories = new TreeMap<>();
+        for (long categoryId = 1; categoryId <= CatalogFixture.CATEGORY_COUNT; categoryId++) {
+            categories.put(categoryId, (long) random.nextInt(100_000));
+        }
+        productResponse = new ProductResponse(content, 0, pageSize, 1_000_000L, 1_000_000 / pageSize, false,
+                "MTAwMDA6NTA", new FacetCounts(priceBuckets, categories, 900_000, 100_000));
+
+        encoded = encode();
+        System.out.printf("%s/%s: %d bytes per page%n", format, compression, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream out = compression.equals("gzip") ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, productResponse);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public ProductResponse decode() throws IOException {
+        InputStream bytes = new ByteArrayInputStream(encoded);
+        try (InputStream in = compression.equals("gzip") ? new GZIPInputStream(bytes) : bytes) {
+            return objectMapper.readValue(in, ProductResponse.class);
+        }
+    }
+}
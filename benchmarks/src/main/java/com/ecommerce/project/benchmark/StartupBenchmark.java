@@ -0,0 +1,241 @@
+package com.ecommerce.project.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: seeds a file-based H2 catalog once, then starts the packaged application in a fresh
+ * JVM per mode and run, measuring the time until /actuator/health/readiness is UP and, under a closed-loop
+ * read load, how long it takes for the per-second p99 to settle within 10% of its steady-state value.
+ *
+ * <p>Modes: {@code default} (plain jar), {@code lazy-warmup} (the fast-startup profile: lazy initialization
+ * off the read path plus a warm-up before readiness) and {@code aot-cds} (the same profile on the AOT build
+ * with the CDS archive from {@code mvn -Pfast-startup package}).
+ *
+ * <p>Settings are system properties: {@code startup.app-dir} (the application's target directory),
+ * {@code startup.modes}, {@code startup.runs}, {@code startup.dataset-size}, {@code startup.clients},
+ * {@code startup.duration}, {@code startup.timeout} and {@code startup.result}.
+ */
+public class StartupBenchmark {
+
+    private static final String USERNAME = "startup";
+    private static final String PASSWORD = "startup";
+    private static final String JAR = "sb-ecom-0.0.1-SNAPSHOT-exec.jar";
+    private static final String[] KEYWORDS = {"wireless", "kettle", "vintage", "premium", "blue"};
+
+    private record Mode(String name, Path workingDirectory, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path appDir = Paths.get(System.getProperty("startup.app-dir", "../target")).toAbsolutePath().normalize();
+        List<String> modeNames = List.of(System.getProperty("startup.modes", "default,lazy-warmup,aot-cds").split(","));
+        int runs = Integer.getInteger("startup.runs", 3);
+        int datasetSize = Integer.getInteger("startup.dataset-size", 100_000);
+        int clients = Integer.getInteger("startup.clients", 16);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("startup.duration", "30s"));
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty("startup.timeout", "120s"));
+        Path result = Paths.get(System.getProperty("startup.result", "target/startup-result.json"));
+
+        Path work = Files.createTempDirectory("startup-benchmark");
+        String databaseUrl = "jdbc:h2:file:" + work.resolve("catalog");
+        System.out.printf("Seeding %d products into %s%n", datasetSize, databaseUrl);
+        CatalogFixture.start(datasetSize, Map.of("spring.datasource.url", databaseUrl,
+                "spring.jpa.hibernate.ddl-auto", "create")).close();
+
+        Map<String, Mode> modes = new LinkedHashMap<>();
+        modes.put("default", new Mode("default", appDir, List.of(), List.of()));
+        modes.put("lazy-warmup", new Mode("lazy-warmup", appDir, List.of(),
+                List.of("--spring.profiles.active=fast-startup")));
+        modes.put("aot-cds", new Mode("aot-cds", appDir.resolve("fast-startup"),
+                List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+                List.of("--spring.profiles.active=fast-startup")));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        System.out.printf("%-12s %4s %12s %16s %14s%n", "mode", "run", "startup ms", "steady p99 ms", "p99 settled s");
+        for (String modeName : modeNames) {
+            Mode mode = modes.get(modeName.trim());
+            if (mode == null) {
+                throw new IllegalArgumentException("Unknown mode: " + modeName);
+            }
+            if (!Files.exists(mode.workingDirectory().resolve(JAR))) {
+                throw new IllegalStateException(JAR + " not found in " + mode.workingDirectory()
+                        + "; package the application with -Pfast-startup first");
+            }
+            List<Map<String, Object>> modeRuns = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                Map<String, Object> measurement = measure(mode, databaseUrl, work.resolve(mode.name() + "-" + run + ".log"),
+                        clients, duration, timeout);
+                System.out.printf("%-12s %4d %12d %16.2f %14.1f%n", mode.name(), run, measurement.get("startupMs"),
+                        measurement.get("steadyP99Ms"), measurement.get("timeToSteadyP99Seconds"));
+                modeRuns.add(measurement);
+            }
+            report.put(mode.name(), modeRuns);
+        }
+        report.put("settings", Map.of("datasetSize", datasetSize, "clients", clients, "runs", runs,
+                "duration", duration.toString()));
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        System.out.println("Results written to " + result.toAbsolutePath() + ", application logs in " + work);
+    }
+
+    private static Map<String, Object> measure(Mode mode, String databaseUrl, Path log, int clients,
+                                               Duration duration, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-jar", JAR,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.security.user.name=" + USERNAME,
+                "--spring.security.user.password=" + PASSWORD,
+                // All clients share one address, so per-client rate limits would measure the limiter instead
+                "--project.admission.client-rate=1000000",
+                "--project.admission.client-burst=1000"));
+        command.addAll(mode.appArgs());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String baseUrl = "http://localhost:" + port;
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(mode.workingDirectory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitReady(httpClient, baseUrl, process, launched + timeout.toNanos());
+            long startupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            List<Double> p99PerSecond = load(httpClient, baseUrl, clients, duration);
+
+            // Steady state is the median of the last third's per-second p99s
+            List<Double> tail = new ArrayList<>(p99PerSecond.subList(p99PerSecond.size() * 2 / 3, p99PerSecond.size()));
+            tail.sort(null);
+            double steadyP99 = tail.isEmpty() ? 0 : tail.get(tail.size() / 2);
+            int settled = p99PerSecond.size();
+            for (int second = p99PerSecond.size() - 1; second >= 0 && p99PerSecond.get(second) <= steadyP99 * 1.1; second--) {
+                settled = second;
+            }
+
+            Map<String, Object> measurement = new LinkedHashMap<>();
+            measurement.put("startupMs", startupMs);
+            measurement.put("steadyP99Ms", steadyP99);
+            measurement.put("timeToSteadyP99Seconds", (double) settled);
+            measurement.put("p99PerSecondMs", p99PerSecond);
+            return measurement;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitReady(HttpClient httpClient, String baseUrl, Process process, long deadline) throws Exception {
+        HttpRequest readiness = get(baseUrl, "/actuator/health/readiness");
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not become ready in time");
+    }
+
+    // Closed-loop catalog reads from the moment of readiness; returns the p99 of each one-second window
+    private static List<Double> load(HttpClient httpClient, String baseUrl, int clients, Duration duration)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        List<Double> p99PerSecond = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        try {
+                            httpClient.send(get(baseUrl, nextPath(random)), HttpResponse.BodyHandlers.discarding());
+                        } catch (IOException e) {
+                            // Counted as a slow request like any other
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+                    }
+                });
+            }
+            Histogram interval = null;
+            for (long window = start + TimeUnit.SECONDS.toNanos(1); window <= deadline; window += TimeUnit.SECONDS.toNanos(1)) {
+                TimeUnit.NANOSECONDS.sleep(window - System.nanoTime());
+                interval = recorder.getIntervalHistogram(interval);
+                p99PerSecond.add(interval.getValueAtPercentile(99) / 1000.0);
+            }
+        }
+        return p99PerSecond;
+    }
+
+    private static String nextPath(ThreadLocalRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "/api/public/products?pageNumber=" + random.nextInt(100);
+            case 1 -> "/api/public/categories/" + (1 + random.nextInt(CatalogFixture.CATEGORY_COUNT))
+                    + "/products?pageNumber=" + random.nextInt(20);
+            case 2 -> "/api/public/products/keyword/" + KEYWORDS[random.nextInt(KEYWORDS.length)];
+            default -> "/api/public/categories";
+        };
+    }
+
+    private static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8)))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.project.benchmark;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The request mix of the load test: mostly catalog reads, with a few admin writes and image uploads.
+ * Slow clients, when enabled, send image uploads and bulk imports at a fixed low bandwidth instead.
+ */
+final class Workload {
+
+    static final int IMAGE_COUNT = 8;
+
+    record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request, int... expectedStatus) {
+
+        boolean isExpected(int status) {
+            for (int expected : expectedStatus) {
+                if (expected == status) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final String[] KEYWORDS = {"wireless", "kettle", "vintage lamp", "premium watch", "blue"};
+
+    private final String baseUrl;
+    private final String authorization;
+    private final int datasetSize;
+    private final int slowClientBandwidth;
+    private final AtomicLong addedProducts = new AtomicLong();
+    private final AtomicLong importedProducts = new AtomicLong();
+    private final byte[][] uploads = new byte[IMAGE_COUNT * 4][];
+    private final List<Operation> operations;
+    private final List<Operation> slowOperations;
+    private final int totalWeight;
+
+    Workload(String baseUrl, String username, String password, int datasetSize, int slowClientBandwidth) {
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.datasetSize = datasetSize;
+        this.slowClientBandwidth = slowClientBandwidth;
+        int lastPage = Math.max(0, datasetSize / 50 - 1);
+        this.operations = List.of(
+                new Operation("listProducts", 25,
+                        random -> get("/api/public/products?pageNumber=" + random.nextInt(10)), 200),
+                new Operation("listProductsDeepPage", 5,
+                        random -> get("/api/public/products?pageNumber=" + (lastPage - random.nextInt(10))), 200),
+                new Operation("listCategoryProducts", 20,
+                        random -> get("/api/public/categories/" + category(random) + "/products?pageNumber=" + random.nextInt(5)), 200),
+                new Operation("searchKeyword", 15,
+                        random -> get("/api/public/products/keyword/" + KEYWORDS[random.nextInt(KEYWORDS.length)].replace(" ", "%20")), 302),
+                new Operation("listCategories", 10,
+                        random -> get("/api/public/categories"), 200),
+                new Operation("getImage", 15,
+                        random -> get("/api/public/images/" + imageName(random.nextInt(IMAGE_COUNT))), 200),
+                new Operation("addProduct", 4, this::addProduct, 201),
+                new Operation("updateProduct", 4, this::updateProduct, 200),
+                new Operation("uploadImage", 2, random -> uploadImage(random, false), 202));
+        // The request body takes seconds to arrive; only the work after it needs a JDBC connection
+        this.slowOperations = List.of(
+                new Operation("slowUploadImage", 1, random -> uploadImage(random, true), 202),
+                new Operation("slowImport", 1, this::slowImport, 200));
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        // A small set of distinct images, so repeated uploads exercise the content-hash deduplication
+        for (int i = 0; i < uploads.length; i++) {
+            uploads[i] = png(1_000 + i);
+        }
+    }
+
+    // Every operation that can be reported, slow ones included
+    List<Operation> operations() {
+        return Stream.concat(operations.stream(), slowOperations.stream()).toList();
+    }
+
+    Operation next(ThreadLocalRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    Operation nextSlow(ThreadLocalRandom random) {
+        return slowOperations.get(random.nextInt(slowOperations.size()));
+    }
+
+    static String imageName(int index) {
+        return "loadtest-" + index + ".png";
+    }
+
+    static byte[] png(long seed) {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < image.getHeight(); y += 20) {
+            int rgb = random.nextInt(0xFFFFFF);
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private int category(ThreadLocalRandom random) {
+        return 1 + random.nextInt(CatalogFixture.CATEGORY_COUNT);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest addProduct(ThreadLocalRandom random) {
+        String body = productJson("load test product " + addedProducts.incrementAndGet(), random);
+        return request("/api/admin/categories/" + category(random) + "/product")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest updateProduct(ThreadLocalRandom random) {
+        long productId = 1 + random.nextInt(datasetSize);
+        return request("/api/admin/products/" + productId)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(productJson(CatalogFixture.productName(productId), random)))
+                .build();
+    }
+
+    private HttpRequest uploadImage(ThreadLocalRandom random, boolean slow) {
+        String boundary = "loadtest" + random.nextLong(Long.MAX_VALUE);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"upload.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(uploads[random.nextInt(uploads.length)]);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return request("/api/admin/product/" + (1 + random.nextInt(datasetSize)) + "/image")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .PUT(slow ? throttled(body.toByteArray()) : HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest slowImport(ThreadLocalRandom random) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String productName = "slow import product " + importedProducts.incrementAndGet();
+            body.append("{\"categoryId\":").append(category(random)).append(',')
+                    .append(productJson(productName, random).substring(1)).append('\n');
+        }
+        return request("/api/admin/products/import?format=ndjson")
+                .header("Content-Type", "application/x-ndjson")
+                .POST(throttled(body.toString().getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    private HttpRequest.BodyPublisher throttled(byte[] body) {
+        return HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> new ThrottledInputStream(body, slowClientBandwidth)), body.length);
+    }
+
+    private static String productJson(String productName, ThreadLocalRandom random) {
+        return String.format(Locale.ROOT,
+                "{\"productName\":\"%s\",\"description\":\"Description of %s\",\"quantity\":%d,\"price\":%.2f,\"discount\":%d}",
+                productName, productName, random.nextInt(500), 1 + random.nextInt(100_000) / 100.0, random.nextInt(60));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", authorization);
+    }
+
+    // Hands the body out in small pieces at a fixed rate, like a client on a slow uplink
+    private static final class ThrottledInputStream extends InputStream {
+
+        private static final int PIECE = 1024;
+
+        private final byte[] data;
+        private final long nanosPerPiece;
+        private int position;
+
+        ThrottledInputStream(byte[] data, int bytesPerSecond) {
+            this.data = data;
+            this.nanosPerPiece = 1_000_000_000L * PIECE / bytesPerSecond;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position == data.length) {
+                return -1;
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(nanosPerPiece));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            int count = Math.min(Math.min(length, PIECE), data.length - position);
+            System.arraycopy(data, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
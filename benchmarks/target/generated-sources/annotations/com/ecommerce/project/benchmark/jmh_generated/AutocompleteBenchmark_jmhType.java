@@ -0,0 +1,4 @@
+package com.ecommerce.project.benchmark.jmh_generated;
+public class AutocompleteBenchmark_jmhType extends AutocompleteBenchmark_jmhType_B3 {
+}
+
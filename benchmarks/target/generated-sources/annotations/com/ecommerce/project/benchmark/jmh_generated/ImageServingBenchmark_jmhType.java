@@ -0,0 +1,4 @@
+package com.ecommerce.project.benchmark.jmh_generated;
+public class ImageServingBenchmark_jmhType extends ImageServingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.ecommerce.project.benchmark.jmh_generated;
+public class KeywordSearchBenchmark_jmhType extends KeywordSearchBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.ecommerce.project.benchmark.jmh_generated;
+public class MappingBenchmark_jmhType extends MappingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.ecommerce.project.benchmark.jmh_generated;
+public class ProductServiceBenchmark_jmhType extends ProductServiceBenchmark_jmhType_B3 {
+}
+
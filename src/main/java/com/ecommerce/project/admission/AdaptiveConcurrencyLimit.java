@@ -0,0 +1,118 @@
+package com.ecommerce.project.admission;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of the gradient algorithm: a long-term
+ * average of request latency is the baseline, a short-term average is the current latency, and the
+ * limit shrinks by their ratio once latency rises above the baseline times {@code tolerance}, and
+ * grows by about sqrt(limit) while latency stays close to it.
+ *
+ * <p>Completed requests only add to a sample window that packs the summed latency in microseconds
+ * (high 48 bits) and the sample count (low 16 bits) into one long. The request that fills the window
+ * takes it with a single getAndSet and updates the averages and the limit; no request waits on a lock.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final int WINDOW_SAMPLES = 10;
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    // Held by the one request that folds a full window into the estimates below
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the current limit are in flight, so lower
+     * priorities are turned away while there is still room for higher ones.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        windowMaxInFlight.accumulateAndGet(inFlightBefore, Math::max);
+        long rttMicros = Math.max(1, rttNanos / 1_000);
+        long state = window.addAndGet((rttMicros << COUNT_BITS) + 1);
+        if ((state & COUNT_MASK) >= WINDOW_SAMPLES && updating.compareAndSet(false, true)) {
+            try {
+                long taken = window.getAndSet(0);
+                long samples = taken & COUNT_MASK;
+                if (samples > 0) {
+                    onWindow((double) (taken >>> COUNT_BITS) / samples, samples, windowMaxInFlight.getAndSet(0));
+                }
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Only ever runs in the request that holds updating
+    private void onWindow(double rtt, long samples, int maxInFlight) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        // A window of n samples moves the averages as far as n single samples would
+        shortRtt += (rtt - shortRtt) * Math.min(1, samples / SHORT_WINDOW);
+        longRtt += (rtt - longRtt) * Math.min(1, samples / LONG_WINDOW);
+        // Latency came back down after an overload: let the baseline follow it quickly
+        if (longRtt > shortRtt * 2) {
+            longRtt = shortRtt * 2;
+        }
+
+        // A limit that is not being used says nothing about whether it could be higher
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        // One step per sample, so the limit moves as fast as it did when every request updated it
+        for (long i = 0; i < samples; i++) {
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        }
+        limit = (int) estimatedLimit;
+    }
+}
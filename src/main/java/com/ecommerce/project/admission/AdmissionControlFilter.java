@@ -0,0 +1,139 @@
+package com.ecommerce.project.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load before it reaches the controllers. Every request first pays into the client's token
+ * bucket (429 when it is empty), then needs a slot under the adaptive concurrency limit (503 when
+ * none is free). Admin paths may use the whole limit; cheap reads may use most of it, keyword
+ * searches only part of it and cost more tokens. This runs before authentication, so an admin path
+ * is only a hint: it pays into the bucket like anything else, and an unauthenticated caller is
+ * rejected by security right after.
+ *
+ * <p>Clients are told apart by their remote address. Behind a reverse proxy that is the proxy's
+ * address for everyone, so either let Tomcat resolve the client with
+ * {@code server.forward-headers-strategy=native}, or name the header in
+ * {@code project.admission.client-header} together with the proxies in
+ * {@code project.admission.trusted-proxies}; the header is only read from those addresses.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    enum Priority {
+        ADMIN, CHEAP, EXPENSIVE
+    }
+
+    private final TokenBucketTable tokenBuckets;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final MeterRegistry meterRegistry;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final AtomicBoolean forwardedWarningLogged = new AtomicBoolean();
+    private final int expensiveCost;
+    private final double cheapShare;
+    private final double expensiveShare;
+
+    public AdmissionControlFilter(TokenBucketTable tokenBuckets, AdaptiveConcurrencyLimit concurrencyLimit,
+                                  MeterRegistry meterRegistry, String clientHeader, Set<String> trustedProxies,
+                                  int expensiveCost, double cheapShare, double expensiveShare) {
+        if (clientHeader != null && !clientHeader.isBlank() && trustedProxies.isEmpty()) {
+            // Anyone could send the header and pick a fresh bucket per request
+            throw new IllegalStateException("project.admission.client-header requires project.admission.trusted-proxies");
+        }
+        this.tokenBuckets = tokenBuckets;
+        this.concurrencyLimit = concurrencyLimit;
+        this.meterRegistry = meterRegistry;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = trustedProxies;
+        this.expensiveCost = expensiveCost;
+        this.cheapShare = cheapShare;
+        this.expensiveShare = expensiveShare;
+        meterRegistry.gauge("catalog.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit);
+        meterRegistry.gauge("catalog.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = classify(request);
+        long waitMillis = tokenBuckets.tryAcquire(clientKey(request), priority == Priority.EXPENSIVE ? expensiveCost : 1);
+        if (waitMillis > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, (waitMillis + 999) / 1000, "Rate limit exceeded", priority);
+            return;
+        }
+        double share = switch (priority) {
+            case ADMIN -> 1.0;
+            case CHEAP -> cheapShare;
+            case EXPENSIVE -> expensiveShare;
+        };
+        if (!concurrencyLimit.tryAcquire(share)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is at capacity", priority);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - start);
+        }
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/admin/")) {
+            return Priority.ADMIN;
+        }
+        // A conditional GET is usually answered with 304 from the catalog version alone
+        if (path.startsWith("/api/public/products/keyword/") && request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return Priority.EXPENSIVE;
+        }
+        return Priority.CHEAP;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (clientHeader == null || clientHeader.isBlank()) {
+            // Tomcat's RemoteIpValve consumes the header once it has resolved the client
+            if (request.getHeader("X-Forwarded-For") != null && forwardedWarningLogged.compareAndSet(false, true)) {
+                log.warn("Requests carry X-Forwarded-For but project.admission.client-header is not set and "
+                        + "server.forward-headers-strategy does not resolve it: all clients behind {} share one token bucket", remoteAddress);
+            }
+            return remoteAddress;
+        }
+        String value = request.getHeader(clientHeader);
+        if (value == null || value.isBlank() || !trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        // Proxies append, so the client is the last address that is not one of ours; earlier ones are whatever the client sent
+        String[] addresses = value.split(",");
+        for (int i = addresses.length - 1; i > 0; i--) {
+            String address = addresses[i].trim();
+            if (!trustedProxies.contains(address)) {
+                return address;
+            }
+        }
+        return addresses[0].trim();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message,
+                        Priority priority) throws IOException {
+        meterRegistry.counter("catalog.admission.rejected", "status", String.valueOf(status.value()),
+                "priority", priority.name().toLowerCase()).increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.sendError(status.value(), message);
+    }
+}
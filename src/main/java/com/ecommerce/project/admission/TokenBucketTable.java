@@ -0,0 +1,69 @@
+package com.ecommerce.project.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-client token buckets in a fixed-size, lock-free table. A client's key hashes to one slot; each
+ * slot packs the remaining milli-tokens (high 32 bits) and the time of the last refill in milliseconds
+ * (low 32 bits) into a single long that is updated with CAS. Memory stays bounded no matter how many
+ * clients show up; clients that collide on a slot share its budget.
+ */
+public class TokenBucketTable {
+
+    private static final long MILLI_TOKENS = 1000;
+    private static final long LOW_32_BITS = 0xFFFFFFFFL;
+
+    private final AtomicLongArray states;
+    private final int mask;
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long origin = System.nanoTime();
+
+    public TokenBucketTable(int slots, double tokensPerSecond, int burst) {
+        if (Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two");
+        }
+        if (burst * MILLI_TOKENS > LOW_32_BITS) {
+            throw new IllegalArgumentException("burst is too large");
+        }
+        this.states = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.capacity = burst * MILLI_TOKENS;
+        // tokens per second equals milli-tokens per millisecond
+        this.refillPerMilli = tokensPerSecond;
+    }
+
+    /**
+     * Takes {@code tokens} from the client's bucket. Returns 0 when they were taken, otherwise the
+     * number of milliseconds until the bucket will hold enough of them.
+     */
+    public long tryAcquire(String clientKey, int tokens) {
+        int hash = clientKey.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        long cost = tokens * MILLI_TOKENS;
+        long now = ((System.nanoTime() - origin) / 1_000_000) & LOW_32_BITS;
+        while (true) {
+            long state = states.get(slot);
+            long available;
+            if (state == 0) {
+                // Never used: a full bucket
+                available = capacity;
+            } else {
+                long elapsed = (now - (state & LOW_32_BITS)) & LOW_32_BITS;
+                available = Math.min(capacity, (state >>> 32) + (long) (elapsed * refillPerMilli));
+            }
+            if (available < cost) {
+                return Math.max(1, (long) Math.ceil((cost - available) / refillPerMilli));
+            }
+            long next = ((available - cost) << 32) | now;
+            if (next == 0) {
+                // Zero means never used; one spare milli-token instead of moving the refill time, which
+                // would make the next elapsed time wrap around to a full bucket
+                next = 1L << 32;
+            }
+            if (states.compareAndSet(slot, state, next)) {
+                return 0;
+            }
+        }
+    }
+}
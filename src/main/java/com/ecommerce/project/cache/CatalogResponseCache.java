@@ -0,0 +1,160 @@
+package com.ecommerce.project.cache;
+
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for the public catalog listings, plus a per-id product cache for batch lookups.
+ * Entries are dropped by size and TTL, and by the admin mutations through the evict methods.
+ */
+@Component
+public class CatalogResponseCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORY_PRODUCTS = "categoryProducts";
+    public static final String KEYWORD_PRODUCTS = "keywordProducts";
+    public static final String CATEGORIES = "categories";
+
+    public record Key(String endpoint, Long categoryId, String keyword, Integer pageNumber, Integer pageSize,
+                      String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter) {
+    }
+
+    private final Cache<Key, Object> cache;
+
+    private final Cache<Long, ProductDTO> products;
+
+    // Bumped on every eviction before the entries go, so a load that raced with a write is not kept: the
+    // loader checks it again after storing, and an eviction it did not see will still find the entry
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong productGeneration = new AtomicLong();
+
+    public CatalogResponseCache(@Value("${project.cache.maximum-size:10000}") long maximumSize,
+                                @Value("${project.cache.ttl:60s}") Duration ttl,
+                                @Value("${project.cache.products.maximum-size:50000}") long productsMaximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.products = Caffeine.newBuilder()
+                .maximumSize(productsMaximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadedAt = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadedAt) {
+            cache.put(key, value);
+            if (generation.get() != loadedAt) {
+                cache.asMap().remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Looks the ids up in the per-id cache and loads all misses with one call to the loader.
+     * Ids the loader does not return are missing from the result and are not cached.
+     */
+    public Map<Long, ProductDTO> getProducts(Set<Long> productIds, Function<Set<Long>, Map<Long, ProductDTO>> loader) {
+        Map<Long, ProductDTO> found = new HashMap<>(products.getAllPresent(productIds));
+        if (found.size() == productIds.size()) {
+            return found;
+        }
+        Set<Long> misses = new HashSet<>(productIds);
+        misses.removeAll(found.keySet());
+        long loadedAt = productGeneration.get();
+        Map<Long, ProductDTO> loaded = loader.apply(misses);
+        if (productGeneration.get() == loadedAt) {
+            products.putAll(loaded);
+            if (productGeneration.get() != loadedAt) {
+                loaded.forEach(products.asMap()::remove);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    public void evictProduct(Long productId, Long categoryId, String... texts) {
+        productGeneration.incrementAndGet();
+        products.invalidate(productId);
+        evictIf(key -> key.endpoint().equals(PRODUCTS)
+                || key.endpoint().equals(CATEGORY_PRODUCTS) && Objects.equals(key.categoryId(), categoryId)
+                || key.endpoint().equals(KEYWORD_PRODUCTS) && matchesAny(key.keyword(), texts));
+    }
+
+    public void evictCategories() {
+        evictIf(key -> key.endpoint().equals(CATEGORIES));
+    }
+
+    // Deleting a category deletes its products
+    public void evictCategory(Long categoryId) {
+        productGeneration.incrementAndGet();
+        products.invalidateAll();
+        evictIf(key -> !key.endpoint().equals(CATEGORY_PRODUCTS) || Objects.equals(key.categoryId(), categoryId));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        productGeneration.incrementAndGet();
+        cache.invalidateAll();
+        products.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats productStats() {
+        return products.stats();
+    }
+
+    public long productsSize() {
+        return products.estimatedSize();
+    }
+
+    private void evictIf(Predicate<Key> predicate) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    private static boolean matchesAny(String keyword, String... texts) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        for (String text : texts) {
+            if (text != null && text.toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
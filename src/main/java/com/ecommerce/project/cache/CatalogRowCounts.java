@@ -0,0 +1,89 @@
+package com.ecommerce.project.cache;
+
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row counts behind {@code totalElements} of the unfiltered listings: all categories, all products
+ * and the products of each category. Counted once at startup and then kept up to date by the admin
+ * writes, so listing pages never run a COUNT query.
+ */
+@Component
+public class CatalogRowCounts {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final AtomicLong categories = new AtomicLong();
+    private final AtomicLong products = new AtomicLong();
+    private volatile ConcurrentMap<Long, AtomicLong> productsByCategory = new ConcurrentHashMap<>();
+
+    // Before the startup warm-up, which runs last
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        ConcurrentMap<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+        for (Object[] row : productRepository.countProductsByCategory()) {
+            counts.put((Long) row[0], new AtomicLong((Long) row[1]));
+        }
+        productsByCategory = counts;
+        products.set(productRepository.count());
+        categories.set(categoryRepository.count());
+    }
+
+    public long categories() {
+        return categories.get();
+    }
+
+    // All products when categoryId is null
+    public long products(Long categoryId) {
+        if (categoryId == null) {
+            return products.get();
+        }
+        AtomicLong count = productsByCategory.get(categoryId);
+        return count == null ? 0 : count.get();
+    }
+
+    public void productAdded(Long categoryId) {
+        if (categoryId != null) {
+            productsByCategory.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+        }
+        products.incrementAndGet();
+    }
+
+    public void productRemoved(Long categoryId) {
+        if (categoryId != null) {
+            AtomicLong count = productsByCategory.get(categoryId);
+            if (count != null) {
+                count.decrementAndGet();
+            }
+        }
+        products.decrementAndGet();
+    }
+
+    public void categoryAdded() {
+        categories.incrementAndGet();
+    }
+
+    // The category's products go with it
+    public void categoryRemoved(Long categoryId) {
+        AtomicLong removed = productsByCategory.remove(categoryId);
+        if (removed != null) {
+            products.addAndGet(-removed.get());
+        }
+        categories.decrementAndGet();
+    }
+}
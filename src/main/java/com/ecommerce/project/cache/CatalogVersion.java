@@ -0,0 +1,45 @@
+package com.ecommerce.project.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic catalog versions, global and per category, bumped by every admin mutation.
+ * Listing ETags are derived from them, so a conditional GET can be answered with 304
+ * without touching the repository.
+ */
+@Component
+public class CatalogVersion {
+
+    // Versions restart at zero with the process, so tie every ETag to this instance's start
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong global = new AtomicLong();
+    private final ConcurrentMap<Long, AtomicLong> categories = new ConcurrentHashMap<>();
+
+    public void bump(Long categoryId) {
+        if (categoryId != null) {
+            categories.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+        }
+        global.incrementAndGet();
+    }
+
+    public String globalETag(Object... params) {
+        return eTag(global.get(), params);
+    }
+
+    public String categoryETag(Long categoryId, Object... params) {
+        AtomicLong version = categories.get(categoryId);
+        return eTag(version == null ? 0 : version.get(), params);
+    }
+
+    // Weak: the same listing is served as JSON, CBOR or Smile and possibly gzipped, and Tomcat
+    // will not compress a response that carries a strong ETag
+    private String eTag(long version, Object... params) {
+        return "W/\"" + epoch + "-" + Long.toString(version, 36) + "-" + Integer.toHexString(Arrays.hashCode(params)) + "\"";
+    }
+}
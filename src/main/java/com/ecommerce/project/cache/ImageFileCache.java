@@ -0,0 +1,55 @@
+package com.ecommerce.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the bytes of small, frequently requested thumbnails in memory.
+ * Only resized variants (name ending in _<width>) under the entry limit are cached.
+ */
+@Component
+public class ImageFileCache {
+
+    private static final Pattern VARIANT = Pattern.compile(".*_\\d+\\.[A-Za-z0-9]+");
+
+    private record Key(String fileName, long length, long lastModified) {
+    }
+
+    private final Cache<Key, byte[]> cache;
+    private final long maxEntryBytes;
+
+    public ImageFileCache(@Value("${project.image.cache.max-bytes:16777216}") long maxBytes,
+                          @Value("${project.image.cache.max-entry-bytes:65536}") long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, byte[] bytes) -> bytes.length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached content, or null when the file should be streamed from disk instead.
+     */
+    public byte[] get(Path file, long length, long lastModified) {
+        String fileName = file.getFileName().toString();
+        if (length > maxEntryBytes || !VARIANT.matcher(fileName).matches()) {
+            return null;
+        }
+        return cache.get(new Key(fileName, length, lastModified), key -> {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.admission.AdaptiveConcurrencyLimit;
+import com.ecommerce.project.admission.AdmissionControlFilter;
+import com.ecommerce.project.admission.TokenBucketTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Admission control for {@code /api/*}: per-client token buckets and an adaptive concurrency limit.
+ * Runs first, so shed requests never reach security, Tomcat's worker queue for MVC, or the database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public TokenBucketTable clientTokenBuckets(@Value("${project.admission.client-slots:65536}") int slots,
+                                               @Value("${project.admission.client-rate:50}") double tokensPerSecond,
+                                               @Value("${project.admission.client-burst:100}") int burst) {
+        return new TokenBucketTable(slots, tokensPerSecond, burst);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(@Value("${project.admission.initial-limit:20}") int initialLimit,
+                                                             @Value("${project.admission.min-limit:4}") int minLimit,
+                                                             @Value("${project.admission.max-limit:200}") int maxLimit,
+                                                             @Value("${project.admission.latency-tolerance:1.5}") double tolerance) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            TokenBucketTable clientTokenBuckets, AdaptiveConcurrencyLimit adaptiveConcurrencyLimit, MeterRegistry meterRegistry,
+            @Value("${project.admission.client-header:}") String clientHeader,
+            @Value("${project.admission.trusted-proxies:}") Set<String> trustedProxies,
+            @Value("${project.admission.expensive-cost:5}") int expensiveCost,
+            @Value("${project.admission.cheap-share:0.9}") double cheapShare,
+            @Value("${project.admission.expensive-share:0.5}") double expensiveShare) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(new AdmissionControlFilter(
+                clientTokenBuckets, adaptiveConcurrencyLimit, meterRegistry, clientHeader, trustedProxies, expensiveCost, cheapShare, expensiveShare));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
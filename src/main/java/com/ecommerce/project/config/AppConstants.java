@@ -5,6 +5,12 @@ public class AppConstants {
     public static final String PAGE_SIZE = "50";
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_PRODUCT_BY = "productId";
+    public static final String SORT_RELEVANCE = "relevance";
     public static final String SORT_DIR = "asc";
+    public static final String TOTALS = "true";
+    public static final String SUGGESTION_LIMIT = "10";
+    public static final String IMPORT_FORMAT = "ndjson";
+    public static final String EXPORT_FORMAT = "ndjson";
+    public static final String EXPORT_FETCH_SIZE = "1000";
 
 }
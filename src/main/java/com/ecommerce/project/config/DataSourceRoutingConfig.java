@@ -0,0 +1,82 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.datasource.ReadWriteRoutingDataSource;
+import com.ecommerce.project.datasource.ReplicaLagMonitor;
+import com.ecommerce.project.datasource.SimulatedReplication;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primary/replica routing, active once {@code project.datasource.replica.url} is set. The primary is
+ * configured through the usual {@code spring.datasource.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${project.datasource.replica.url}") String url,
+                                              @Value("${project.datasource.replica.username:sa}") String username,
+                                              @Value("${project.datasource.replica.password:}") String password,
+                                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${project.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               @Value("${project.datasource.replica.heartbeat-interval:500ms}") Duration heartbeatInterval) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, heartbeatInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor, meterRegistry);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        // The connection is only fetched at the first statement, after the transaction is marked read-only
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "project.datasource.replica.simulated-delay")
+    public SimulatedReplication simulatedReplication(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                     @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${project.datasource.replica.simulated-delay}") Duration delay) {
+        return new SimulatedReplication(primaryDataSource, replicaDataSource, delay);
+    }
+}
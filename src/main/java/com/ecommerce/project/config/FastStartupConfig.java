@@ -0,0 +1,44 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.controller.CategoryController;
+import com.ecommerce.project.controller.ProductController;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.service.CategoryService;
+import com.ecommerce.project.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Startup settings used by the {@code fast-startup} profile (application-fast-startup.properties and
+ * the Maven profile of the same name, which adds AOT processing and a CDS archive).
+ */
+@Configuration
+public class FastStartupConfig {
+
+    // With spring.main.lazy-initialization=true, the catalog read path is still built at startup;
+    // imports, exports, image processing and the like wait for their first use
+    @Bean
+    public static LazyInitializationExcludeFilter catalogReadPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ProductController.class, CategoryController.class,
+                ProductService.class, CategoryService.class, ProductSearchIndex.class, ProductFacetIndex.class, ProductAutocompleteIndex.class,
+                CatalogRowCounts.class, CatalogResponseCache.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "project.warmup.enabled", havingValue = "true")
+    public StartupWarmup startupWarmup(ProductService productService, CategoryService categoryService, ObjectMapper objectMapper,
+                                       @Value("${project.warmup.iterations:500}") int iterations,
+                                       @Value("${project.warmup.max-duration:20s}") Duration maxDuration) {
+        return new StartupWarmup(productService, categoryService, objectMapper, iterations, maxDuration);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.CategoryResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.CategoryService;
+import com.ecommerce.project.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs the catalog read paths before the instance reports ready, so the JIT has compiled them and the
+ * connection pool, Hibernate's query plans and Jackson's serializers exist when real traffic arrives.
+ * It listens to ApplicationReadyEvent after the index rebuilds; readiness only switches to
+ * ACCEPTING_TRAFFIC once every listener of that event has returned.
+ */
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final ProductFilter NO_FILTER = new ProductFilter();
+
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    public StartupWarmup(ProductService productService, CategoryService categoryService, ObjectMapper objectMapper,
+                         int iterations, Duration maxDuration) {
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int pageSize = Integer.parseInt(AppConstants.PAGE_SIZE);
+
+        ProductResponse firstPage = attempt(() -> productService.getAllProducts(0, pageSize,
+                AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, NO_FILTER));
+        CategoryResponse categories = attempt(() -> categoryService.getAllCategories(0, pageSize,
+                AppConstants.SORT_CATEGORIES_BY, AppConstants.SORT_DIR, null, true));
+        if (firstPage == null || firstPage.getContent().isEmpty() || categories == null) {
+            log.info("Skipping warm-up: the catalog is empty");
+            return;
+        }
+        int totalPages = Math.max(1, firstPage.getTotalPages());
+        List<Long> categoryIds = categories.getContent().stream().map(CategoryDTO::getCategoryId).toList();
+        // Words of real product names, so keyword searches find something
+        List<String> keywords = firstPage.getContent().stream()
+                .map(ProductDTO::getProductName)
+                .map(name -> name.split(" ")[0])
+                .distinct()
+                .toList();
+
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            // Spread over the catalog so most calls miss the response cache and reach the database
+            int page = (int) ((completed * 7919L) % totalPages);
+            String sortOrder = completed % 2 == 0 ? "asc" : "desc";
+            Long categoryId = categoryIds.get(completed % categoryIds.size());
+            String keyword = keywords.get(completed % keywords.size());
+            String typed = keyword.substring(0, 1 + completed % keyword.length());
+            attempt(() -> productService.getAllProducts(page, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, sortOrder, null, true, NO_FILTER));
+            attempt(() -> productService.searchByCategory(categoryId, page % 10, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, sortOrder, null, true, NO_FILTER));
+            attempt(() -> productService.searchProductsByKeyword(keyword, page % 10, pageSize,
+                    AppConstants.SORT_RELEVANCE, AppConstants.SORT_DIR));
+            attempt(() -> productService.suggestProducts(typed, null, Integer.parseInt(AppConstants.SUGGESTION_LIMIT)));
+            attempt(() -> categoryService.getAllCategories(0, pageSize,
+                    AppConstants.SORT_CATEGORIES_BY, sortOrder, null, true));
+            completed++;
+        }
+        log.info("Warm-up ran {} iterations in {} ms", completed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Calls one read path and serializes the result like a response; "not found" answers are fine here
+    private <T> T attempt(Supplier<T> call) {
+        try {
+            T result = call.get();
+            objectMapper.writeValueAsBytes(result);
+            return result;
+        } catch (APIException | ResourceNotFoundException e) {
+            return null;
+        } catch (JsonProcessingException e) {
+            log.warn("Warm-up could not serialize a response", e);
+            return null;
+        }
+    }
+}
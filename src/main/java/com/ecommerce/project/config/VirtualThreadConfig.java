@@ -0,0 +1,41 @@
+package com.ecommerce.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Extra guardrails for {@code spring.threads.virtual.enabled=true}. Boot itself switches Tomcat,
+ * the MVC async executor and {@code applicationTaskExecutor} to virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Virtual threads no longer cap concurrency, so the JDBC pools do, and only for work that needs a
+    // connection: a slow upload or download holds a cheap virtual thread but no connection. A request
+    // that waits longer than acquire-timeout for one gets 503 from MyGlobalExceptionHandler
+    @Bean
+    public static BeanPostProcessor connectionAcquireTimeout(@Value("${project.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionTimeout(acquireTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "project.virtual-threads.pinning-monitor", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(@Value("${project.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(threshold);
+    }
+}
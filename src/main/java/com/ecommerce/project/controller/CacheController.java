@@ -0,0 +1,28 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.payload.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class CacheController {
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @GetMapping("/admin/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        CacheStats stats = catalogResponseCache.stats();
+        CacheStatsDTO cacheStatsDTO = new CacheStatsDTO(catalogResponseCache.size(), stats.hitCount(),
+                stats.missCount(), stats.evictionCount(), stats.hitRate(),
+                catalogResponseCache.productsSize(), catalogResponseCache.productStats().hitRate());
+        return new ResponseEntity<>(cacheStatsDTO, HttpStatus.OK);
+    }
+}
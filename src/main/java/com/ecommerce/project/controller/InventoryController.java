@@ -0,0 +1,41 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.ReservationDTO;
+import com.ecommerce.project.payload.ReservationRequest;
+import com.ecommerce.project.service.InventoryService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    // Not under /api/public: a reservation belongs to the authenticated caller, and only they can commit or release it
+    @PostMapping("/user/products/{productId}/reservations")
+    public ResponseEntity<ReservationDTO> reserveStock(@PathVariable Long productId,
+                                                       @Valid @RequestBody ReservationRequest reservationRequest,
+                                                       Principal principal){
+        ReservationDTO reservationDTO = inventoryService.reserve(productId, reservationRequest.getQuantity(), principal.getName());
+        return new ResponseEntity<>(reservationDTO, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/user/reservations/{reservationId}/commit")
+    public ResponseEntity<ReservationDTO> commitReservation(@PathVariable String reservationId, Principal principal){
+        ReservationDTO reservationDTO = inventoryService.commit(reservationId, principal.getName());
+        return new ResponseEntity<>(reservationDTO, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/user/reservations/{reservationId}")
+    public ResponseEntity<ReservationDTO> releaseReservation(@PathVariable String reservationId, Principal principal){
+        ReservationDTO reservationDTO = inventoryService.release(reservationId, principal.getName());
+        return new ResponseEntity<>(reservationDTO, HttpStatus.OK);
+    }
+}
@@ -1,17 +1,32 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.cache.CatalogVersion;
 import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.BulkRepriceRequest;
+import com.ecommerce.project.payload.BulkRepriceResponse;
+import com.ecommerce.project.payload.ProductBatchResponse;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductImportResponse;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.payload.ProductSuggestionResponse;
+import com.ecommerce.project.service.ProductExportService;
+import com.ecommerce.project.service.ProductImportService;
 import com.ecommerce.project.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -20,6 +35,15 @@ public class ProductController {
     @Autowired
     private final ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     public ProductController(ProductService productService) {
         this.productService = productService;
     }
@@ -28,9 +52,17 @@ public class ProductController {
     public ResponseEntity<ProductResponse> getAllProducts(@RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER) Integer pageNumber,
                                                           @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE) Integer pageSize,
                                                           @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY) String sortBy,
-                                                          @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder){
-        ProductResponse productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+                                                          @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder,
+                                                          @RequestParam(name = "after", required = false) String after,
+                                                          @RequestParam(name = "totals", defaultValue = AppConstants.TOTALS) boolean totals,
+                                                          ProductFilter filter,
+                                                          WebRequest webRequest){
+        String etag = catalogVersion.globalETag("products", pageNumber, pageSize, sortBy, sortOrder, after, totals, filter, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ProductResponse productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, after, totals, filter);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT).body(productResponse);
     }
 
     @GetMapping("/public/categories/{categoryId}/products")
@@ -38,19 +70,51 @@ public class ProductController {
                                                                  @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER) Integer pageNumber,
                                                                  @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE) Integer pageSize,
                                                                  @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY) String sortBy,
-                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder){
-        ProductResponse productResponse = productService.searchByCategory(categoryId,pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder,
+                                                                 @RequestParam(name = "after", required = false) String after,
+                                                                 @RequestParam(name = "totals", defaultValue = AppConstants.TOTALS) boolean totals,
+                                                                 ProductFilter filter,
+                                                                 WebRequest webRequest){
+        String etag = catalogVersion.categoryETag(categoryId, "categoryProducts", categoryId, pageNumber, pageSize, sortBy, sortOrder, after, totals, filter, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ProductResponse productResponse = productService.searchByCategory(categoryId,pageNumber, pageSize, sortBy, sortOrder, after, totals, filter);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT).body(productResponse);
+    }
+
+    @GetMapping("/public/products/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestParam(name = "ids") List<Long> productIds,
+                                                                 WebRequest webRequest){
+        String etag = catalogVersion.globalETag("batch", productIds, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ProductBatchResponse productBatchResponse = productService.getProductsByIds(productIds);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT).body(productBatchResponse);
+    }
+
+    @GetMapping("/public/products/autocomplete")
+    public ResponseEntity<ProductSuggestionResponse> suggestProducts(@RequestParam(name = "q") String query,
+                                                                     @RequestParam(name = "categoryId", required = false) Long categoryId,
+                                                                     @RequestParam(name = "limit", defaultValue = AppConstants.SUGGESTION_LIMIT) Integer limit){
+        ProductSuggestionResponse productSuggestionResponse = productService.suggestProducts(query, categoryId, limit);
+        return new ResponseEntity<>(productSuggestionResponse, HttpStatus.OK);
     }
 
     @GetMapping("/public/products/keyword/{keyword}")
     public ResponseEntity<ProductResponse> getProductsByKeyword(@PathVariable String keyword,
                                                                 @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER) Integer pageNumber,
                                                                 @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE) Integer pageSize,
-                                                                @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY) String sortBy,
-                                                                @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder){
+                                                                @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_RELEVANCE) String sortBy,
+                                                                @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR) String sortOrder,
+                                                                WebRequest webRequest){
+        String etag = catalogVersion.globalETag("keyword", keyword, pageNumber, pageSize, sortBy, sortOrder, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ProductResponse productResponse = productService.searchProductsByKeyword(keyword,pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.FOUND);
+        return ResponseEntity.status(HttpStatus.FOUND).eTag(etag).varyBy(HttpHeaders.ACCEPT).body(productResponse);
     }
 
     @PostMapping("/admin/categories/{categoryId}/product")
@@ -60,11 +124,32 @@ public class ProductController {
         return new  ResponseEntity<>(SavedproductDTO, HttpStatus.CREATED);
     }
 
+    @PostMapping("/admin/products/import")
+    public ResponseEntity<ProductImportResponse> importProducts(@RequestParam(name = "format", defaultValue = AppConstants.IMPORT_FORMAT) String format,
+                                                                InputStream inputStream) throws IOException {
+        ProductImportResponse productImportResponse = productImportService.importProducts(inputStream, format);
+        return new ResponseEntity<>(productImportResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/admin/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(name = "categoryId", required = false) Long categoryId,
+                                                                @RequestParam(name = "format", defaultValue = AppConstants.EXPORT_FORMAT) String format){
+        MediaType contentType = productExportService.prepareExport(categoryId, format);
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(categoryId, format, outputStream);
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
     @PutMapping("/admin/product/{productId}/image")
     public ResponseEntity<ProductDTO> updateProductImage( @PathVariable Long productId,
                                                           @RequestParam("image") MultipartFile imageFile) throws IOException {
         ProductDTO updateProductImage = productService.updateProductImage(productId, imageFile);
-        return new ResponseEntity<>(updateProductImage, HttpStatus.OK);
+        return new ResponseEntity<>(updateProductImage, HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/admin/products/reprice")
+    public ResponseEntity<BulkRepriceResponse> repriceProducts(@RequestBody BulkRepriceRequest bulkRepriceRequest){
+        BulkRepriceResponse bulkRepriceResponse = productService.repriceProducts(bulkRepriceRequest);
+        return new ResponseEntity<>(bulkRepriceResponse, HttpStatus.OK);
     }
 
     @PutMapping("/admin/products/{productId}")
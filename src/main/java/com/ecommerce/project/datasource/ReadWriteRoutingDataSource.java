@@ -0,0 +1,65 @@
+package com.ecommerce.project.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica while the
+ * {@link ReplicaLagMonitor} says it is fresh enough, and everything else to the primary. Must sit
+ * behind a {@code LazyConnectionDataSourceProxy} so the lookup happens after the transaction has
+ * been marked read-only. Read-your-writes is tracked per authenticated user: after a write, only that
+ * user's reads stay on the primary until the replica has caught up.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryRoutes = meterRegistry.counter("catalog.datasource.routing", "route", "primary");
+        this.replicaRoutes = meterRegistry.counter("catalog.datasource.routing", "route", "replica");
+        this.fallbackRoutes = meterRegistry.counter("catalog.datasource.routing", "route", "primary-fallback");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Once this commits, the client's reads stay on the primary until the replica has caught up with it
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        replicaLagMonitor.recordWrite(client);
+                    }
+                });
+            }
+            primaryRoutes.increment();
+            return Target.PRIMARY;
+        }
+        if (replicaLagMonitor.canServeReads(client)) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        fallbackRoutes.increment();
+        return Target.PRIMARY;
+    }
+
+    // Background work such as the inventory flush has no client waiting to read its writes back
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
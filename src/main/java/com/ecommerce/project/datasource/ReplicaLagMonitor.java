@@ -0,0 +1,116 @@
+package com.ecommerce.project.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replication lag with a heartbeat row: the primary's clock is written to it on every tick
+ * and read back from the replica, so the replica holds everything the primary had committed at that
+ * time. Reads may use the replica when that time is recent enough and, for a client that has written
+ * through this instance, not older than its last write (read-your-writes). Writes are tracked per
+ * client, so one client's writes do not send every other reader to the primary; a client's entry is
+ * dropped once the replica has caught up with it.
+ */
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final DataSource primaryDataSource;
+    private final DataSource replicaDataSource;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-heartbeat").daemon().factory());
+
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long replicatedUpTo;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, Duration maxLag, Duration interval) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = primaryDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + HEARTBEAT_TABLE + " (id int primary key, beat_at bigint not null)");
+            if (statement.executeUpdate("update " + HEARTBEAT_TABLE + " set beat_at = 0 where id = 1") == 0) {
+                statement.executeUpdate("insert into " + HEARTBEAT_TABLE + " (id, beat_at) values (1, 0)");
+            }
+        }
+        executor.scheduleWithFixedDelay(this::beat, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether the replica may serve a read for {@code client}; {@code null} for work no client is waiting
+     * on, which only needs the replica to be within the lag limit.
+     */
+    public boolean canServeReads(String client) {
+        long replicated = replicatedUpTo;
+        if (System.currentTimeMillis() - replicated > maxLagMillis) {
+            return false;
+        }
+        Long lastWrite = client == null ? null : lastWrites.get(client);
+        return lastWrite == null || replicated > lastWrite;
+    }
+
+    public void recordWrite(String client) {
+        if (client != null) {
+            lastWrites.merge(client, System.currentTimeMillis(), Math::max);
+        }
+    }
+
+    public Duration lag() {
+        long replicated = replicatedUpTo;
+        return replicated == 0 ? null : Duration.ofMillis(System.currentTimeMillis() - replicated);
+    }
+
+    private void beat() {
+        try (Connection connection = primaryDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update " + HEARTBEAT_TABLE + " set beat_at = ? where id = 1")) {
+            statement.setLong(1, System.currentTimeMillis());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Could not write the replication heartbeat", e);
+        }
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select beat_at from " + HEARTBEAT_TABLE + " where id = 1")) {
+            if (resultSet.next()) {
+                long replicated = resultSet.getLong(1);
+                replicatedUpTo = replicated;
+                // Conditional removal: a client that wrote again in the meantime keeps its entry
+                lastWrites.values().removeIf(lastWrite -> lastWrite < replicated);
+            }
+        } catch (SQLException e) {
+            // Not replicated yet or unreachable: treat as infinitely behind
+            replicatedUpTo = 0;
+            log.debug("Could not read the replication heartbeat from the replica", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.project.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for database replication between two H2 databases: every {@code delay} the replica
+ * is replaced with a consistent snapshot of the primary, so it trails the primary by up to that long.
+ * Not meant for anything but development and tests.
+ */
+public class SimulatedReplication implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedReplication.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource primaryDataSource;
+    private final DataSource replicaDataSource;
+    private final Duration delay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("simulated-replication").daemon().factory());
+    private boolean schemaCopied;
+
+    public SimulatedReplication(DataSource primaryDataSource, DataSource replicaDataSource, Duration delay) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.delay = delay;
+    }
+
+    // The schema exists once JPA has started, so replication begins when the application is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::replicate, 0, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void replicate() {
+        try (Connection source = primaryDataSource.getConnection(); Connection target = replicaDataSource.getConnection()) {
+            if (!schemaCopied) {
+                copySchema(source, target);
+                schemaCopied = true;
+            }
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            target.setAutoCommit(false);
+            for (String table : tables(source)) {
+                copyTable(source, target, table);
+            }
+            target.commit();
+            source.commit();
+        } catch (SQLException e) {
+            log.warn("Replication to the simulated replica failed", e);
+        }
+    }
+
+    private static void copySchema(Connection source, Connection target) throws SQLException {
+        try (Statement script = source.createStatement();
+             ResultSet statements = script.executeQuery("SCRIPT NODATA");
+             Statement replay = target.createStatement()) {
+            while (statements.next()) {
+                replay.execute(statements.getString(1));
+            }
+            // Tables are refreshed one after another, so foreign keys would reject the intermediate states
+            replay.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+    }
+
+    private static List<String> tables(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet resultSet = statement.executeQuery("select table_name from information_schema.tables "
+                     + "where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        String quoted = '"' + table + '"';
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("select * from " + quoted);
+             Statement delete = target.createStatement()) {
+            delete.executeUpdate("delete from " + quoted);
+            int columns = rows.getMetaData().getColumnCount();
+            String insert = "insert into " + quoted + " values (" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            try (PreparedStatement statement = target.prepareStatement(insert)) {
+                int batched = 0;
+                while (rows.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        statement.setObject(column, rows.getObject(column));
+                    }
+                    statement.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
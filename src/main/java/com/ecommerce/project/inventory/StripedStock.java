@@ -0,0 +1,103 @@
+package com.ecommerce.project.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The units of one product that are still free to reserve, spread over a few counters that are only
+ * changed by CAS. Concurrent reservations of a hot product mostly land on different stripes; a stripe
+ * that runs dry sends the request on to the others. No stripe ever goes below zero, so the product
+ * cannot be oversold.
+ */
+public class StripedStock {
+
+    // One counter per 64-byte cache line, so neighbouring stripes do not contend either
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray stripes;
+    private final int stripeCount;
+
+    public StripedStock(long available, int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be positive");
+        }
+        this.stripeCount = stripeCount;
+        this.stripes = new AtomicLongArray(stripeCount * PADDING);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            stripes.set(stripe * PADDING, available / stripeCount + (stripe < available % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units, or nothing when fewer are left. Close to selling out, a request can
+     * also fail while another one is handing back units it had gathered from several stripes.
+     */
+    public boolean tryTake(long quantity) {
+        int start = ThreadLocalRandom.current().nextInt(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            if (tryTakeFrom((start + i) % stripeCount, quantity)) {
+                return true;
+            }
+        }
+        // No single stripe holds enough: gather from all of them, and hand back a shortfall
+        long taken = 0;
+        for (int i = 0; i < stripeCount && taken < quantity; i++) {
+            taken += takeUpTo((start + i) % stripeCount, quantity - taken);
+        }
+        if (taken < quantity) {
+            if (taken > 0) {
+                put(taken);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public void put(long quantity) {
+        stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripeCount) * PADDING, quantity);
+    }
+
+    // Takes as many of {@code quantity} units as are left, and returns how many that was
+    public long takeUpTo(long quantity) {
+        long taken = 0;
+        for (int stripe = 0; stripe < stripeCount && taken < quantity; stripe++) {
+            taken += takeUpTo(stripe, quantity - taken);
+        }
+        return taken;
+    }
+
+    public long available() {
+        long available = 0;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            available += stripes.get(stripe * PADDING);
+        }
+        return available;
+    }
+
+    private boolean tryTakeFrom(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = stripes.get(index);
+            if (current < quantity) {
+                return false;
+            }
+            if (stripes.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private long takeUpTo(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = stripes.get(index);
+            long taken = Math.min(current, quantity);
+            if (taken == 0) {
+                return 0;
+            }
+            if (stripes.compareAndSet(index, current, current - taken)) {
+                return taken;
+            }
+        }
+    }
+}
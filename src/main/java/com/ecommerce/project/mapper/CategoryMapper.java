@@ -0,0 +1,24 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.metrics.RequestMetrics;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryMapper {
+
+    public CategoryDTO toDTO(Category category) {
+        long start = System.nanoTime();
+        CategoryDTO categoryDTO = new CategoryDTO(category.getCategoryId(), category.getCategoryName());
+        RequestMetrics.recordMapping(System.nanoTime() - start);
+        return categoryDTO;
+    }
+
+    public Category toEntity(CategoryDTO categoryDTO) {
+        Category category = new Category();
+        category.setCategoryId(categoryDTO.getCategoryId());
+        category.setCategoryName(categoryDTO.getCategoryName());
+        return category;
+    }
+}
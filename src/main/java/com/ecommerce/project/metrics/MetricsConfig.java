@@ -0,0 +1,29 @@
+package com.ecommerce.project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${project.metrics.slow-request-threshold:500ms}")
+    private Duration slowRequestThreshold;
+
+    @Value("${project.metrics.statement-warn-threshold:20}")
+    private int statementWarnThreshold;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, slowRequestThreshold, statementWarnThreshold))
+                .addPathPatterns("/api/**");
+    }
+}
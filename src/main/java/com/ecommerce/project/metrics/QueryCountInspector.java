@@ -0,0 +1,16 @@
+package com.ecommerce.project.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector}; sees every SQL
+ * statement Hibernate prepares and counts it against the current request.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.recordStatement(sql);
+        return sql;
+    }
+}
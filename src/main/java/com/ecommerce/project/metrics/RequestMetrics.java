@@ -0,0 +1,70 @@
+package com.ecommerce.project.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request counters filled in by the Hibernate hooks and the mappers, on the request thread.
+ * Calls made outside a request (background workers, startup) are ignored.
+ */
+public class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private long mappingNanos;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void recordStatement(String sql) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.statements++;
+            metrics.statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public static void recordEntityLoad() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.entitiesLoaded++;
+        }
+    }
+
+    public static void recordMapping(long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.mappingNanos += nanos;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    long getMappingNanos() {
+        return mappingNanos;
+    }
+
+    Map<String, Integer> getStatementCounts() {
+        return statementCounts;
+    }
+}
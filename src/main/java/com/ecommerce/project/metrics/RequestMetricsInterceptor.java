@@ -0,0 +1,92 @@
+package com.ecommerce.project.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records per-handler SQL statement, entity load and mapping metrics, and logs slow or
+ * statement-heavy requests with a per-statement breakdown so N+1 patterns stand out.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+    private static final int LOGGED_STATEMENTS = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+    private final int statementWarnThreshold;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, Duration slowRequestThreshold, int statementWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            RequestMetrics.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod) || start == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - (Long) start;
+        try {
+            String name = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+            RequestMetrics metrics = RequestMetrics.current();
+            if (metrics == null) {
+                return;
+            }
+            DistributionSummary.builder("catalog.request.sql.statements").tag("handler", name)
+                    .publishPercentiles(0.5, 0.99).register(meterRegistry).record(metrics.getStatements());
+            DistributionSummary.builder("catalog.request.entities.loaded").tag("handler", name)
+                    .publishPercentiles(0.5, 0.99).register(meterRegistry).record(metrics.getEntitiesLoaded());
+            Timer.builder("catalog.request.mapping").tag("handler", name)
+                    .publishPercentiles(0.5, 0.99).register(meterRegistry).record(metrics.getMappingNanos(), TimeUnit.NANOSECONDS);
+
+            if (elapsedNanos >= slowRequestNanos || metrics.getStatements() >= statementWarnThreshold) {
+                log.warn("Slow request {} {} ({}) took {} ms: {} statements, {} entities loaded, {} ms mapping; top statements:\n{}",
+                        request.getMethod(), request.getRequestURI(), name,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), metrics.getStatements(), metrics.getEntitiesLoaded(),
+                        TimeUnit.NANOSECONDS.toMillis(metrics.getMappingNanos()), breakdown(metrics.getStatementCounts()));
+            }
+        } finally {
+            RequestMetrics.clear();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The rest of an async request runs on another thread; don't leak this one's counters
+        request.removeAttribute(START_ATTRIBUTE);
+        RequestMetrics.clear();
+    }
+
+    private static String breakdown(Map<String, Integer> statementCounts) {
+        return statementCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(LOGGED_STATEMENTS)
+                .map(entry -> "    " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
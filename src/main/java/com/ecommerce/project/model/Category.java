@@ -10,12 +10,14 @@ import lombok.AllArgsConstructor;
 import java.util.List;
 
 @Entity(name = "categories")
+@Table(indexes = @Index(name = "idx_categories_name_id", columnList = "category_name, category_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = 50)
     private Long categoryId;
 
     @NotBlank
@@ -11,11 +11,20 @@ import lombok.AllArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "products")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_products_category_name", columnNames = {"category_id", "product_name"}),
+        indexes = {
+        @Index(name = "idx_products_name_id", columnList = "product_name, product_id"),
+        @Index(name = "idx_products_price_id", columnList = "price, product_id"),
+        @Index(name = "idx_products_discount_id", columnList = "discount, product_id"),
+        @Index(name = "idx_products_special_price_id", columnList = "special_price, product_id"),
+        @Index(name = "idx_products_category_id", columnList = "category_id, product_id"),
+        @Index(name = "idx_products_category_price_id", columnList = "category_id, price, product_id")
+})
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long productId;
 
     @NotBlank
@@ -31,8 +40,13 @@ public class Product {
     private double discount;
     private double specialPrice;
 
-    @ManyToOne
+    // Lazy: listings only need the id, which the proxy holds without a query
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // Whole-entity writes fail instead of overwriting a concurrent change; stock moves bump it as well
+    @Version
+    private long version;
+
 }
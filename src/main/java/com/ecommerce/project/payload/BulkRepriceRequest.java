@@ -0,0 +1,15 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRepriceRequest {
+    private Long categoryId;
+    private ProductFilter filter;
+    private Double discount;
+    private Double priceChangePercent;
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRepriceResponse {
+    private Long affectedProducts;
+    private Integer affectedCategories;
+    private Long elapsedMillis;
+}
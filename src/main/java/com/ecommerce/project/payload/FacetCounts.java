@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCounts {
+    private Map<String, Long> priceBuckets;
+    private Map<Long, Long> categories;
+    private long inStock;
+    private long outOfStock;
+}
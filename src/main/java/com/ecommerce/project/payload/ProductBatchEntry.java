@@ -0,0 +1,15 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One requested id of a batch lookup; product is null when found is false
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchEntry {
+    private Long productId;
+    private boolean found;
+    private ProductDTO product;
+}
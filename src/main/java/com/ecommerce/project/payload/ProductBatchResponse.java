@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    // In request order, one entry per requested id
+    private List<ProductBatchEntry> content;
+    private Integer foundCount;
+    private Integer notFoundCount;
+}
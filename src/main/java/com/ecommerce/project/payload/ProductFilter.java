@@ -0,0 +1,22 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minSpecialPrice;
+    private Double maxSpecialPrice;
+    private Double minDiscount;
+    private Boolean inStock;
+
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && minSpecialPrice == null && maxSpecialPrice == null
+                && minDiscount == null && !Boolean.TRUE.equals(inStock);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    private Long totalRows;
+    private Long importedRows;
+    private Long failedRows;
+    private Long elapsedMillis;
+    private Double rowsPerSecond;
+    private List<ImportRowError> errors;
+}
@@ -17,4 +17,6 @@ public class ProductResponse {
     private Long totalElements;
     private Integer totalPages;
     private Boolean lastPage;
+    private String nextCursor;
+    private FacetCounts facets;
 }
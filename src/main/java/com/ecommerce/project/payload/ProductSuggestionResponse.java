@@ -0,0 +1,16 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+    private String query;
+    // Best first; empty when nothing matches
+    private List<ProductSuggestionDTO> suggestions;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.project.payload;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+    @NotNull
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
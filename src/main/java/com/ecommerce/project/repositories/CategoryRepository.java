@@ -1,11 +1,17 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
 
     Category findByCategoryName(String categoryName);
+
+    // pageSize + 1 rows and no COUNT query; the total comes from CatalogRowCounts
+    Slice<Category> findAllBy(Pageable pageable);
 }
@@ -1,14 +1,83 @@
 package com.ecommerce.project.repositories;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetail);
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetail);
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+    boolean existsByCategoryAndProductName(Category category, String productName);
+
+    // Listing reads select only the ProductDTO columns: no entity hydration, no category join, nothing to dirty-check.
+    // Slices read pageSize + 1 rows to tell whether there is a next page; totals come from CatalogRowCounts
+    @Query("select new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.imageUrl, "
+            + "p.description, p.quantity, p.price, p.discount, p.specialPrice) from products p")
+    Slice<ProductDTO> findAllProductDTOs(Pageable pageDetail);
+
+    @Query("select new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.imageUrl, "
+            + "p.description, p.quantity, p.price, p.discount, p.specialPrice) from products p "
+            + "where p.category.categoryId = :categoryId")
+    Slice<ProductDTO> findProductDTOsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageDetail);
+
+    @Query(value = "select new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.imageUrl, "
+            + "p.description, p.quantity, p.price, p.discount, p.specialPrice) from products p "
+            + "where upper(p.productName) like upper(:keyword) or upper(p.description) like upper(:keyword)",
+            countQuery = "select count(p) from products p "
+                    + "where upper(p.productName) like upper(:keyword) or upper(p.description) like upper(:keyword)")
+    Page<ProductDTO> findProductDTOsByProductNameOrDescriptionLike(@Param("keyword") String keyword, Pageable pageDetail);
+
+    @Query("select new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.imageUrl, "
+            + "p.description, p.quantity, p.price, p.discount, p.specialPrice) from products p where p.productId in :productIds")
+    List<ProductDTO> findProductDTOsByIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // Rebuild of the keyword index: three columns per product, no entity hydration
+    @Query("select p.productId, p.productName, p.description from products p")
+    List<Object[]> findProductIdsNamesAndDescriptions();
+
+    // Rebuild of the facet index: the filterable columns only
+    @Query("select p.productId, c.categoryId, p.price, p.specialPrice, p.discount, p.quantity from products p left join p.category c")
+    List<Object[]> findFacetColumns();
+
+    // Rebuild of the typeahead index: id, name and category id per product
+    @Query("select p.productId, p.productName, c.categoryId from products p left join p.category c")
+    List<Object[]> findProductIdsNamesAndCategoryIds();
+
+    @Query("select p.category.categoryId, count(p) from products p where p.category is not null group by p.category.categoryId")
+    List<Object[]> countProductsByCategory();
+
+    @Query("select p.productName from products p where p.category.categoryId = :categoryId and p.productName in :productNames")
+    List<String> findProductNamesInCategory(@Param("categoryId") Long categoryId, @Param("productNames") Collection<String> productNames);
+
+    @Modifying
+    @Transactional
+    @Query("update products p set p.imageUrl = :imageUrl, p.version = p.version + 1 where p.productId = :productId")
+    int updateImageUrl(@Param("productId") Long productId, @Param("imageUrl") String imageUrl);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select p from products p left join fetch p.category")
+    Stream<Product> streamAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select p from products p join fetch p.category c where c.categoryId = :categoryId")
+    Stream<Product> streamByCategoryId(@Param("categoryId") Long categoryId);
 }
@@ -0,0 +1,524 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory typeahead index over product names. Every word start of a normalized name is a completion
+ * ("red shirt 12" completes "r...", "s..." and "1..."). The completions are kept sorted, which is the leaf
+ * order of a trie: the node of a prefix is the contiguous range that two binary searches find.
+ *
+ * <p>Prefixes matching more than {@code top-k-threshold} completions remember their best suggestions once
+ * looked up, and product changes and sales patch those lists in place; smaller ranges are ranked on the fly.
+ * The remembered lists are bounded by {@code top-k-memory-budget}. Suggestions rank by units sold since
+ * startup, then by shorter name.
+ *
+ * <p>Like {@link ProductFacetIndex}, every product owns a slot and its fields are arrays indexed by slot.
+ * A completion is a packed (slot, offset) long, so the whole catalog costs a few longs per word on top of
+ * the names. One set of completions covers the catalog and one each category, for scoped lookups.
+ */
+@Component
+public class ProductAutocompleteIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int OFFSET_BITS = 16;
+    private static final long NO_CATEGORY = Long.MIN_VALUE;
+
+    // Rough JVM sizes for estimatedBytes(): a String with its array, a hash map entry with boxed key and value
+    private static final int STRING_BYTES = 56;
+    private static final int MAP_ENTRY_BYTES = 64;
+
+    public record Suggestion(long productId, String productName) {
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final int maxSuggestions;
+    private final int topKThreshold;
+    private final long topKMemoryBudget;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Long> unitsSold = new HashMap<>();
+    private final Map<Long, Completions> categories = new HashMap<>();
+    private final AtomicLong topKBytes = new AtomicLong();
+    private int slotCount;
+    private long nameBytes;
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private long[] categoryIds = new long[INITIAL_CAPACITY];
+    private long[] sales = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] displayNames = new String[INITIAL_CAPACITY];
+    private Completions catalog = new Completions();
+
+    public ProductAutocompleteIndex(@Value("${project.autocomplete.max-suggestions:10}") int maxSuggestions,
+                                    @Value("${project.autocomplete.top-k-threshold:256}") int topKThreshold,
+                                    @Value("${project.autocomplete.top-k-memory-budget:8388608}") long topKMemoryBudget) {
+        this.maxSuggestions = maxSuggestions;
+        this.topKThreshold = Math.max(topKThreshold, maxSuggestions);
+        this.topKMemoryBudget = topKMemoryBudget;
+    }
+
+    // Before the startup warm-up, which runs last
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        List<Object[]> products = productRepository.findProductIdsNamesAndCategoryIds();
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            freeSlots.clear();
+            categories.clear();
+            topKBytes.set(0);
+            slotCount = 0;
+            nameBytes = 0;
+            catalog = new Completions();
+            List<Integer> added = new ArrayList<>(products.size());
+            for (Object[] row : products) {
+                int slot = assignSlot((Long) row[0], (String) row[1], (Long) row[2]);
+                if (slot >= 0) {
+                    added.add(slot);
+                }
+            }
+            addToScopes(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        indexAll(List.of(product));
+    }
+
+    // Imports index a whole chunk at once, so the completions are merged in one pass per scope
+    public void indexAll(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> added = new ArrayList<>(products.size());
+            for (Product product : products) {
+                removeProduct(product.getProductId());
+                int slot = assignSlot(product.getProductId(), product.getProductName(),
+                        product.getCategory() == null ? null : product.getCategory().getCategoryId());
+                if (slot >= 0) {
+                    added.add(slot);
+                }
+            }
+            addToScopes(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productId);
+            unitsSold.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Popularity signal: units sold, reported by the inventory flush
+    public void recordSales(Long productId, long units) {
+        lock.writeLock().lock();
+        try {
+            unitsSold.merge(productId, units, Long::sum);
+            Integer slot = slots.get(productId);
+            if (slot == null) {
+                return;
+            }
+            sales[slot] += units;
+            forEachScope(slot, completions -> completions.promote(slot));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best completions of the query, at most {@code limit} and never more than max-suggestions;
+     * scoped to one category when categoryId is set.
+     */
+    public List<Suggestion> complete(String query, Long categoryId, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Completions completions = categoryId == null ? catalog : categories.get(categoryId);
+            if (completions == null) {
+                return List.of();
+            }
+            int[] top = completions.top(prefix);
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                suggestions.add(new Suggestion(productIds[top[i]], displayNames[top[i]]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int maxSuggestions() {
+        return maxSuggestions;
+    }
+
+    /**
+     * Approximate heap held by the index: slot columns, names, completions and the remembered top-k lists.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) productIds.length * (3 * Long.BYTES + 2 * Integer.BYTES)
+                    + (long) (slots.size() + unitsSold.size()) * MAP_ENTRY_BYTES
+                    + nameBytes
+                    + catalog.entries.length * (long) Long.BYTES
+                    + topKBytes.get();
+            for (Completions completions : categories.values()) {
+                bytes += MAP_ENTRY_BYTES + completions.entries.length * (long) Long.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addToScopes(List<Integer> added) {
+        catalog.add(added);
+        Map<Long, List<Integer>> byCategory = new HashMap<>();
+        for (int slot : added) {
+            if (categoryIds[slot] != NO_CATEGORY) {
+                byCategory.computeIfAbsent(categoryIds[slot], categoryId -> new ArrayList<>()).add(slot);
+            }
+        }
+        byCategory.forEach((categoryId, categorySlots) -> categories.computeIfAbsent(categoryId, id -> new Completions()).add(categorySlots));
+    }
+
+    private void removeProduct(Long productId) {
+        Integer slot = slots.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        forEachScope(slot, completions -> completions.remove(slot));
+        Completions scoped = categories.get(categoryIds[slot]);
+        if (scoped != null && scoped.size == 0) {
+            categories.remove(categoryIds[slot]);
+        }
+        nameBytes -= 2L * STRING_BYTES + names[slot].length() + displayNames[slot].length();
+        names[slot] = null;
+        displayNames[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private int assignSlot(Long productId, String productName, Long categoryId) {
+        if (productId == null || productName == null) {
+            return -1;
+        }
+        Integer free = freeSlots.poll();
+        int slot = free != null ? free : slotCount++;
+        if (slot == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            sales = Arrays.copyOf(sales, capacity);
+            names = Arrays.copyOf(names, capacity);
+            displayNames = Arrays.copyOf(displayNames, capacity);
+        }
+        slots.put(productId, slot);
+        productIds[slot] = productId;
+        categoryIds[slot] = categoryId == null ? NO_CATEGORY : categoryId;
+        sales[slot] = unitsSold.getOrDefault(productId, 0L);
+        names[slot] = normalize(productName);
+        displayNames[slot] = productName;
+        nameBytes += 2L * STRING_BYTES + names[slot].length() + displayNames[slot].length();
+        return slot;
+    }
+
+    private void forEachScope(int slot, Consumer<Completions> action) {
+        action.accept(catalog);
+        if (categoryIds[slot] != NO_CATEGORY) {
+            action.accept(categories.computeIfAbsent(categoryIds[slot], categoryId -> new Completions()));
+        }
+    }
+
+    // True when slot a ranks before slot b
+    private boolean ranksBefore(int a, int b) {
+        if (sales[a] != sales[b]) {
+            return sales[a] > sales[b];
+        }
+        if (names[a].length() != names[b].length()) {
+            return names[a].length() < names[b].length();
+        }
+        return productIds[a] < productIds[b];
+    }
+
+    private static long entry(int slot, int offset) {
+        return ((long) slot << OFFSET_BITS) | offset;
+    }
+
+    private static int slot(long entry) {
+        return (int) (entry >>> OFFSET_BITS);
+    }
+
+    private static int offset(long entry) {
+        return (int) (entry & ((1 << OFFSET_BITS) - 1));
+    }
+
+    private static void forEachWordStart(String name, IntConsumer action) {
+        int limit = Math.min(name.length(), 1 << OFFSET_BITS);
+        for (int i = 0; i < limit; i++) {
+            if (Character.isLetterOrDigit(name.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))) {
+                action.accept(i);
+            }
+        }
+    }
+
+    private static boolean contains(int[] top, int slot) {
+        for (int candidate : top) {
+            if (candidate == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] without(int[] top, int slot) {
+        return Arrays.stream(top).filter(candidate -> candidate != slot).toArray();
+    }
+
+    private static long topBytes(String prefix, int length) {
+        return MAP_ENTRY_BYTES + STRING_BYTES + prefix.length() + 16 + (long) Integer.BYTES * length;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The sorted completions of one scope and the top-k lists of its large prefixes.
+     * Mutated under the write lock; readers fill topByPrefix concurrently under the read lock.
+     */
+    private final class Completions {
+
+        private long[] entries = new long[16];
+        private int size;
+        private final Map<String, int[]> topByPrefix = new ConcurrentHashMap<>();
+
+        int[] top(String prefix) {
+            int from = lowerBound(prefix);
+            int to = upperBound(prefix, from);
+            if (to - from <= topKThreshold) {
+                return best(from, to);
+            }
+            int[] top = topByPrefix.get(prefix);
+            if (top == null) {
+                top = best(from, to);
+                long bytes = topBytes(prefix, top.length);
+                if (topKBytes.get() + bytes <= topKMemoryBudget && topByPrefix.putIfAbsent(prefix, top) == null) {
+                    topKBytes.addAndGet(bytes);
+                }
+            }
+            return top;
+        }
+
+        // Every existing completion moves at most once, however many completions the slots add
+        void add(List<Integer> added) {
+            List<Long> additions = new ArrayList<>();
+            for (int slot : added) {
+                forEachWordStart(names[slot], offset -> additions.add(entry(slot, offset)));
+            }
+            Long[] sorted = additions.toArray(new Long[0]);
+            Arrays.sort(sorted, (a, b) -> compareEntries(a, b));
+            if (size + sorted.length > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + sorted.length));
+            }
+            // From the largest addition down: the existing completions after its insertion point move up as one block
+            int end = size;
+            for (int addition = sorted.length - 1; addition >= 0; addition--) {
+                int position = insertionPoint(sorted[addition], end);
+                System.arraycopy(entries, position, entries, position + addition + 1, end - position);
+                entries[position + addition] = sorted[addition];
+                end = position;
+            }
+            size += sorted.length;
+            added.forEach(slot -> patchPrefixes(slot, this::offer));
+        }
+
+        void remove(int slot) {
+            List<Integer> positions = new ArrayList<>();
+            forEachWordStart(names[slot], offset -> {
+                int position = insertionPoint(entry(slot, offset)) - 1;
+                if (position >= 0 && entries[position] == entry(slot, offset)) {
+                    positions.add(position);
+                }
+            });
+            if (!positions.isEmpty()) {
+                positions.sort(null);
+                // The completions between two removed ones move down as one block
+                for (int i = 0; i < positions.size(); i++) {
+                    int from = positions.get(i) + 1;
+                    int to = i + 1 < positions.size() ? positions.get(i + 1) : size;
+                    System.arraycopy(entries, from, entries, from - i - 1, to - from);
+                }
+                size -= positions.size();
+            }
+            // A list that held the slot may now miss its next best; drop it and rank again on the next lookup
+            patchPrefixes(slot, (top, removed) -> contains(top, removed) ? null : top);
+        }
+
+        void promote(int slot) {
+            patchPrefixes(slot, (top, promoted) -> {
+                int[] rest = contains(top, promoted) ? without(top, promoted) : top;
+                return offer(rest, promoted);
+            });
+        }
+
+        private void patchPrefixes(int slot, BiFunction<int[], Integer, int[]> patch) {
+            if (topByPrefix.isEmpty()) {
+                return;
+            }
+            String name = names[slot];
+            forEachWordStart(name, offset -> {
+                for (int end = offset + 1; end <= name.length(); end++) {
+                    topByPrefix.computeIfPresent(name.substring(offset, end), (prefix, top) -> {
+                        int[] patched = patch.apply(top, slot);
+                        topKBytes.addAndGet(patched == null ? -topBytes(prefix, top.length)
+                                : (long) Integer.BYTES * (patched.length - top.length));
+                        return patched;
+                    });
+                }
+            });
+        }
+
+        // Distinct slots of the range, best first; a name with the prefix at two word starts counts once
+        private int[] best(int from, int to) {
+            int[] top = new int[0];
+            for (int i = from; i < to; i++) {
+                top = offer(top, slot(entries[i]));
+            }
+            return top;
+        }
+
+        private int[] offer(int[] top, int slot) {
+            if (contains(top, slot)) {
+                return top;
+            }
+            int position = top.length;
+            while (position > 0 && ranksBefore(slot, top[position - 1])) {
+                position--;
+            }
+            if (position >= maxSuggestions) {
+                return top;
+            }
+            int[] offered = new int[Math.min(top.length + 1, maxSuggestions)];
+            System.arraycopy(top, 0, offered, 0, position);
+            offered[position] = slot;
+            System.arraycopy(top, position, offered, position + 1, offered.length - position - 1);
+            return offered;
+        }
+
+        // First completion that starts with the prefix or sorts after it
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(entries[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // First completion after the ones that start with the prefix
+        private int upperBound(String prefix, int from) {
+            int low = from;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(entries[mid], prefix) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int insertionPoint(long entry) {
+            return insertionPoint(entry, size);
+        }
+
+        private int insertionPoint(long entry, int high) {
+            int low = 0;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareEntries(entries[mid], entry) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Negative, zero or positive as the completion sorts before, starts with or sorts after the prefix
+        private int comparePrefix(long entry, String prefix) {
+            String name = names[slot(entry)];
+            int offset = offset(entry);
+            int length = Math.min(name.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int difference = name.charAt(offset + i) - prefix.charAt(i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return name.length() - offset >= prefix.length() ? 0 : -1;
+        }
+
+        private int compareEntries(long a, long b) {
+            String nameA = names[slot(a)];
+            String nameB = names[slot(b)];
+            int offsetA = offset(a);
+            int offsetB = offset(b);
+            int length = Math.min(nameA.length() - offsetA, nameB.length() - offsetB);
+            for (int i = 0; i < length; i++) {
+                int difference = nameA.charAt(offsetA + i) - nameB.charAt(offsetB + i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            int byLength = Integer.compare(nameA.length() - offsetA, nameB.length() - offsetB);
+            return byLength != 0 ? byLength : Long.compare(a, b);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.FacetCounts;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar index of the filterable product fields. Every product owns a slot; the numeric
+ * columns are plain arrays indexed by slot, and categories, stock and price buckets are bitsets over
+ * the slots, so facet counts are bitset intersections instead of GROUP BY queries.
+ *
+ * <p>Each facet is counted with every filter applied except its own (a shopper who picked one price
+ * band still sees how many products the other bands hold).
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final double[] priceBucketBounds;
+    private final String[] priceBucketLabels;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final Map<Long, BitSet> categories = new HashMap<>();
+    private final BitSet[] priceBuckets;
+    private long[] categoryIds = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] specialPrices = new double[INITIAL_CAPACITY];
+    private double[] discounts = new double[INITIAL_CAPACITY];
+
+    public ProductFacetIndex(@Value("${project.facets.price-buckets:25,50,100,250,500,1000}") double[] priceBucketBounds) {
+        this.priceBucketBounds = priceBucketBounds.clone();
+        Arrays.sort(this.priceBucketBounds);
+        this.priceBucketLabels = new String[this.priceBucketBounds.length + 1];
+        this.priceBuckets = new BitSet[this.priceBucketBounds.length + 1];
+        String lower = "0";
+        for (int i = 0; i < priceBucketLabels.length; i++) {
+            String upper = i < this.priceBucketBounds.length ? format(this.priceBucketBounds[i]) : null;
+            priceBucketLabels[i] = upper == null ? lower + "+" : lower + "-" + upper;
+            priceBuckets[i] = new BitSet();
+            lower = upper;
+        }
+    }
+
+    // Before the startup warm-up, which runs last
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        List<Object[]> products = productRepository.findFacetColumns();
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            live.clear();
+            inStock.clear();
+            categories.clear();
+            Arrays.stream(priceBuckets).forEach(BitSet::clear);
+            products.forEach(row -> addProduct((Long) row[0], (Long) row[1], (Double) row[2], (Double) row[3],
+                    (Double) row[4], (Integer) row[5]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getProductId());
+            addProduct(product.getProductId(), product.getCategory() == null ? null : product.getCategory().getCategoryId(),
+                    product.getPrice(), product.getSpecialPrice(), product.getDiscount(), product.getQuantity());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Stock moves are written by the inventory flush without a Product at hand
+    public void updateStock(Long productId, boolean productInStock) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(productId);
+            if (slot != null) {
+                inStock.set(slot, productInStock);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts for the products of one category (or all products when {@code categoryId} is null)
+     * that match the filter. The category facet is only filled in for the catalog-wide listing.
+     */
+    public FacetCounts facets(Long categoryId, ProductFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet common = scope(categoryId);
+            retainRange(common, specialPrices, filter.getMinSpecialPrice(), filter.getMaxSpecialPrice());
+            retainRange(common, discounts, filter.getMinDiscount(), null);
+
+            BitSet priceMatch = (BitSet) common.clone();
+            retainRange(priceMatch, prices, filter.getMinPrice(), filter.getMaxPrice());
+            boolean inStockOnly = Boolean.TRUE.equals(filter.getInStock());
+
+            // Price buckets: every filter but the price range
+            BitSet bucketBase = (BitSet) common.clone();
+            if (inStockOnly) {
+                bucketBase.and(inStock);
+            }
+            Map<String, Long> priceBucketCounts = new LinkedHashMap<>();
+            for (int i = 0; i < priceBuckets.length; i++) {
+                priceBucketCounts.put(priceBucketLabels[i], intersectionSize(bucketBase, priceBuckets[i]));
+            }
+
+            // Stock: every filter but in-stock
+            long inStockCount = intersectionSize(priceMatch, inStock);
+            long outOfStockCount = priceMatch.cardinality() - inStockCount;
+
+            Map<Long, Long> categoryCounts = null;
+            if (categoryId == null) {
+                BitSet matches = (BitSet) priceMatch.clone();
+                if (inStockOnly) {
+                    matches.and(inStock);
+                }
+                categoryCounts = new TreeMap<>();
+                for (Map.Entry<Long, BitSet> entry : categories.entrySet()) {
+                    long count = intersectionSize(matches, entry.getValue());
+                    if (count > 0) {
+                        categoryCounts.put(entry.getKey(), count);
+                    }
+                }
+            }
+            return new FacetCounts(priceBucketCounts, categoryCounts, inStockCount, outOfStockCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mirrors a bulk repricing UPDATE that was just committed: the products in scope that match the
+     * filter get the new price and/or discount and a recomputed special price. Returns the ids of the
+     * categories that were touched.
+     */
+    public Set<Long> reprice(Long categoryId, ProductFilter filter, Double priceFactor, Double discount) {
+        Set<Long> touchedCategories = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            BitSet matches = scope(categoryId);
+            retainRange(matches, specialPrices, filter.getMinSpecialPrice(), filter.getMaxSpecialPrice());
+            retainRange(matches, discounts, filter.getMinDiscount(), null);
+            retainRange(matches, prices, filter.getMinPrice(), filter.getMaxPrice());
+            if (Boolean.TRUE.equals(filter.getInStock())) {
+                matches.and(inStock);
+            }
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                priceBuckets[priceBucket(prices[slot])].clear(slot);
+                if (priceFactor != null) {
+                    prices[slot] = prices[slot] * priceFactor;
+                }
+                if (discount != null) {
+                    discounts[slot] = discount;
+                }
+                specialPrices[slot] = prices[slot] - ((discounts[slot] * 0.01) * prices[slot]);
+                priceBuckets[priceBucket(prices[slot])].set(slot);
+                if (categoryIds[slot] != 0) {
+                    touchedCategories.add(categoryIds[slot]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return touchedCategories;
+    }
+
+    private BitSet scope(Long categoryId) {
+        if (categoryId == null) {
+            return (BitSet) live.clone();
+        }
+        BitSet category = categories.get(categoryId);
+        return category == null ? new BitSet() : (BitSet) category.clone();
+    }
+
+    private void addProduct(Long productId, Long categoryId, double price, double specialPrice, double discount, Integer quantity) {
+        if (productId == null) {
+            return;
+        }
+        int slot = live.nextClearBit(0);
+        ensureCapacity(slot + 1);
+        slots.put(productId, slot);
+        live.set(slot);
+        prices[slot] = price;
+        specialPrices[slot] = specialPrice;
+        discounts[slot] = discount;
+        if (quantity != null && quantity > 0) {
+            inStock.set(slot);
+        }
+        if (categoryId != null) {
+            categoryIds[slot] = categoryId;
+            categories.computeIfAbsent(categoryId, id -> new BitSet()).set(slot);
+        } else {
+            categoryIds[slot] = 0;
+        }
+        priceBuckets[priceBucket(price)].set(slot);
+    }
+
+    private void removeProduct(Long productId) {
+        Integer slot = slots.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        inStock.clear(slot);
+        priceBuckets[priceBucket(prices[slot])].clear(slot);
+        BitSet category = categories.get(categoryIds[slot]);
+        if (category != null) {
+            category.clear(slot);
+            if (category.isEmpty()) {
+                categories.remove(categoryIds[slot]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= prices.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, prices.length * 2);
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        specialPrices = Arrays.copyOf(specialPrices, newCapacity);
+        discounts = Arrays.copyOf(discounts, newCapacity);
+    }
+
+    private int priceBucket(double price) {
+        for (int i = 0; i < priceBucketBounds.length; i++) {
+            if (price < priceBucketBounds[i]) {
+                return i;
+            }
+        }
+        return priceBucketBounds.length;
+    }
+
+    // Column scan over the slots still set; clears the ones outside [min, max]
+    private static void retainRange(BitSet bits, double[] column, Double min, Double max) {
+        if (min == null && max == null) {
+            return;
+        }
+        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+            double value = column[slot];
+            if (min != null && value < min || max != null && value > max) {
+                bits.clear(slot);
+            }
+        }
+    }
+
+    private static long intersectionSize(BitSet left, BitSet right) {
+        BitSet intersection = (BitSet) left.clone();
+        intersection.and(right);
+        return intersection.cardinality();
+    }
+
+    private static String format(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over product names and descriptions.
+ * Trigram postings narrow the candidates, the stored text confirms the substring match and gives the
+ * relevance score, with name matches ranked above description matches. It finds what the LIKE fallback
+ * finds, the keyword as a case-insensitive substring of the name or the description, except that
+ * whitespace runs in the keyword collapse and % and _ match only themselves.
+ */
+@Component
+public class ProductSearchIndex {
+
+    public static final int MIN_KEYWORD_LENGTH = 3;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    public record SearchResult(long[] productIds, long totalElements) {
+    }
+
+    private record IndexedProduct(String name, String description) {
+    }
+
+    private record Match(long productId, int score) {
+    }
+
+    // Before the startup warm-up, which runs last
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        List<Object[]> products = productRepository.findProductIdsNamesAndDescriptions();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            products.forEach(row -> addDocument((Long) row[0], (String) row[1], (String) row[2]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean supports(String keyword) {
+        return normalize(keyword).length() >= MIN_KEYWORD_LENGTH;
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getProductId());
+            addDocument(product.getProductId(), product.getProductName(), product.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String keyword, int pageNumber, int pageSize) {
+        String phrase = normalize(keyword);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(phrase);
+            for (long productId : candidates) {
+                int score = score(documents.get(productId), phrase);
+                if (score > 0) {
+                    matches.add(new Match(productId, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt(Match::score).reversed().thenComparingLong(Match::productId));
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        long[] page = new long[to - from];
+        for (int i = from; i < to; i++) {
+            page[i - from] = matches.get(i).productId();
+        }
+        return new SearchResult(page, matches.size());
+    }
+
+    private long[] candidates(String phrase) {
+        // Start from the rarest trigram so the intersections stay small
+        List<LongPostingList> lists = new ArrayList<>();
+        for (String gram : grams(phrase)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retainAll(candidates);
+        }
+        return candidates;
+    }
+
+    // 0 when neither the name nor the description contains the phrase
+    private int score(IndexedProduct document, String phrase) {
+        int nameIndex = document.name().indexOf(phrase);
+        if (document.name().equals(phrase)) {
+            return 100;
+        } else if (nameIndex == 0) {
+            return 50;
+        } else if (nameIndex > 0) {
+            return Character.isLetterOrDigit(document.name().charAt(nameIndex - 1)) ? 20 : 30;
+        }
+        return document.description().contains(phrase) ? 5 : 0;
+    }
+
+    private void addDocument(Long productId, String productName, String description) {
+        if (productId == null) {
+            return;
+        }
+        IndexedProduct document = new IndexedProduct(normalize(productName), normalize(description));
+        documents.put(productId, document);
+        for (String gram : grams(document)) {
+            postings.computeIfAbsent(gram, key -> new LongPostingList()).add(productId);
+        }
+    }
+
+    private void removeDocument(Long productId) {
+        IndexedProduct document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String gram : grams(document)) {
+            LongPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(productId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // Each trigram once per product, whether it occurs in the name, the description or both
+    private static Set<String> grams(IndexedProduct document) {
+        Set<String> grams = grams(document.name());
+        grams.addAll(grams(document.description()));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + MIN_KEYWORD_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + MIN_KEYWORD_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
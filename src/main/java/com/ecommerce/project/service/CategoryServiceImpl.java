@@ -1,77 +1,187 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.cache.CatalogVersion;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
 import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
-import org.modelmapper.ModelMapper;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.util.AfterCommit;
+import com.ecommerce.project.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
+    // Sort columns that can be paged with an "after" cursor
+    private static final Map<String, Function<Category, Object>> CURSOR_SORT_KEYS = Map.of(
+            "categoryId", Category::getCategoryId,
+            "categoryName", Category::getCategoryName);
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogRowCounts catalogRowCounts;
+
+    @Autowired
+    private InventoryService inventoryService;
 
 
     @Override
-    public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    @Transactional(readOnly = true)
+    public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals) {
+        CatalogResponseCache.Key key = new CatalogResponseCache.Key(CatalogResponseCache.CATEGORIES, null, null,
+                pageNumber, pageSize, sortBy, sortOrder, after, totals, null);
+        return catalogResponseCache.get(key, () -> loadAllCategories(pageNumber, pageSize, sortBy, sortOrder, after, totals));
+    }
+
+    private CategoryResponse loadAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        if (after != null) {
+            return getCategoriesAfter(after, pageSize, sortBy, sortByAndOrder);
+        }
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Category> categoryPage = categoryRepository.findAll(pageDetails);
+        Slice<Category> categorySlice = categoryRepository.findAllBy(pageDetails);
 
-        List<Category> categories = categoryPage.getContent();
+        List<Category> categories = categorySlice.getContent();
         if (categories.isEmpty()) {
             throw new APIException("No categories found");
         }
-        List<CategoryDTO> categoryDTOS = categories.stream().map(category -> modelMapper.map(category, CategoryDTO.class)).toList();
+        List<CategoryDTO> categoryDTOS = categories.stream().map(categoryMapper::toDTO).toList();
         CategoryResponse categoryResponse = new CategoryResponse();
         categoryResponse.setContent(categoryDTOS);
         categoryResponse.setPageNumber(pageNumber);
         categoryResponse.setPageSize(pageSize);
-        categoryResponse.setTotalElements(categoryPage.getTotalElements());
-        categoryResponse.setTotalPages(categoryPage.getTotalPages());
-        categoryResponse.setLastPage(categoryPage.isLast());
+        if (totals) {
+            long totalElements = catalogRowCounts.categories();
+            categoryResponse.setTotalElements(totalElements);
+            categoryResponse.setTotalPages((int) ((totalElements + pageSize - 1) / pageSize));
+        }
+        categoryResponse.setLastPage(!categorySlice.hasNext());
+        categoryResponse.setNextCursor(nextCursor(categories, !categorySlice.hasNext(), sortBy));
+        return categoryResponse;
+    }
+
+    // Cursor pages skip the COUNT query, so totals and page number are left empty
+    private CategoryResponse getCategoriesAfter(String after, Integer pageSize, String sortBy, Sort sortByAndOrder) {
+        if (!CURSOR_SORT_KEYS.containsKey(sortBy)) {
+            throw new APIException("Cursor paging is not supported for sortBy: " + sortBy);
+        }
+        ScrollPosition position = CursorCodec.decode(after, sortBy, "categoryId");
+        Window<Category> categoryWindow = categoryRepository.findBy(Specification.<Category>where(null),
+                query -> query.sortBy(sortByAndOrder).limit(pageSize).scroll(position));
+
+        List<Category> categories = categoryWindow.getContent();
+        if (categories.isEmpty() && after.isBlank()) {
+            throw new APIException("No categories found");
+        }
+        List<CategoryDTO> categoryDTOS = categories.stream().map(categoryMapper::toDTO).toList();
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setContent(categoryDTOS);
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setLastPage(!categoryWindow.hasNext());
+        categoryResponse.setNextCursor(nextCursor(categories, !categoryWindow.hasNext(), sortBy));
         return categoryResponse;
     }
 
+    private String nextCursor(List<Category> categories, boolean lastPage, String sortBy) {
+        Function<Category, Object> sortKey = CURSOR_SORT_KEYS.get(sortBy);
+        if (lastPage || sortKey == null || categories.isEmpty()) {
+            return null;
+        }
+        Category last = categories.get(categories.size() - 1);
+        return CursorCodec.encode(sortBy, sortKey.apply(last), last.getCategoryId());
+    }
+
     @Override
+    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toEntity(categoryDTO);
         Category categoryFromDB = categoryRepository.findByCategoryName(category.getCategoryName());
         if (categoryFromDB != null) {
             throw new APIException("Category with name : " + category.getCategoryName() + " already exists !!");
         }
         Category savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        AfterCommit.run(() -> {
+            catalogRowCounts.categoryAdded();
+            catalogResponseCache.evictCategories();
+            catalogVersion.bump(savedCategory.getCategoryId());
+        });
+        return categoryMapper.toDTO(savedCategory);
     }
 
     @Override
+    @Transactional
     public CategoryDTO deleteCategory(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow( () -> new ResourceNotFoundException("Category", "CategoryId",categoryId));
         categoryRepository.delete(category);
-        return modelMapper.map(category, CategoryDTO.class);
+        List<Long> productIds = category.getProducts().stream().map(Product::getProductId).toList();
+        AfterCommit.run(() -> {
+            productIds.forEach(productId -> {
+                productSearchIndex.remove(productId);
+                productFacetIndex.remove(productId);
+                productAutocompleteIndex.remove(productId);
+                inventoryService.productRemoved(productId);
+            });
+            catalogRowCounts.categoryRemoved(categoryId);
+            catalogResponseCache.evictCategory(categoryId);
+            catalogVersion.bump(categoryId);
+        });
+        return categoryMapper.toDTO(category);
     }
 
     @Override
+    @Transactional
     public CategoryDTO updateCategory(CategoryDTO categoryDTO, Long categoryId) {
         categoryRepository.findById(categoryId)
                 .orElseThrow( () -> new ResourceNotFoundException("Category", "CategoryId",categoryId));
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toEntity(categoryDTO);
         category.setCategoryId(categoryId);
         Category savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        AfterCommit.run(() -> {
+            catalogResponseCache.evictCategories();
+            catalogVersion.bump(categoryId);
+        });
+        return categoryMapper.toDTO(savedCategory);
     }
 }
@@ -1,26 +1,36 @@
 package com.ecommerce.project.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class FileServiceImpl implements FIleService {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public String uploadImage(String path, MultipartFile file) throws IOException {
+        long start = System.nanoTime();
         // Get the file names of the current / original file
         String originalFileName = file.getOriginalFilename();
-
-        // Generate a unique file name
-        String randomId = UUID.randomUUID().toString();
-        String fileName = randomId.concat(originalFileName.substring(originalFileName.lastIndexOf('.')));
-        String filePath = path + File.separator + fileName;
+        String extension = originalFileName.substring(originalFileName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
 
         // Check if a path exists and create
         File fileDir = new File(path);
@@ -28,9 +38,37 @@ public class FileServiceImpl implements FIleService {
             fileDir.mkdir();
         }
 
-        // Upload to server
-        Files.copy(file.getInputStream(), Paths.get(filePath));
+        // Upload to a temporary file, hashing the content on the way
+        Path tempFile = Files.createTempFile(fileDir.toPath(), "upload-", extension);
+        MessageDigest digest = sha256();
+        long bytes;
+        String fileName;
+        try {
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                bytes = Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // Name the file after its content hash, so the same image is only stored once
+            fileName = HexFormat.of().formatHex(digest.digest()).concat(extension);
+            Path filePath = Paths.get(path, fileName);
+            if (!Files.exists(filePath)) {
+                Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            // Gone after the move; a duplicate, an aborted upload or a failed move must not leave it behind
+            Files.deleteIfExists(tempFile);
+        }
 
+        meterRegistry.summary("catalog.image.upload.bytes").record(bytes);
+        meterRegistry.timer("catalog.image.upload").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return fileName;
     }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
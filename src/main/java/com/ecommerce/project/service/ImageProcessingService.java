@@ -0,0 +1,5 @@
+package com.ecommerce.project.service;
+
+public interface ImageProcessingService {
+    void processImage(Long productId, String fileName);
+}
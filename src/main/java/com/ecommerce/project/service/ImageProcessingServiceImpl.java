@@ -0,0 +1,146 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogVersion;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates fixed-width variants of uploaded images on a bounded worker pool and points the
+ * product at the new image once they exist. When the queue is full the uploading request
+ * thread runs the job itself, which slows uploads down instead of queueing without limit.
+ */
+@Service
+public class ImageProcessingServiceImpl implements ImageProcessingService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageProcessingServiceImpl.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${project.image}")
+    private String path;
+
+    @Value("${project.image.variant-widths:160,320,640}")
+    private int[] variantWidths;
+
+    private final ThreadPoolExecutor executor;
+
+    public ImageProcessingServiceImpl(@Value("${project.image.workers:2}") int workers,
+                                      @Value("${project.image.queue-capacity:100}") int queueCapacity,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("image-", 0).factory()
+                : Thread.ofPlatform().name("image-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void processImage(Long productId, String fileName) {
+        executor.execute(() -> {
+            try {
+                createVariants(fileName);
+            } catch (IOException | RuntimeException e) {
+                // ImageIO also throws IllegalArgumentException on malformed files
+                log.warn("Could not create variants of {}", fileName, e);
+            } finally {
+                // The upload itself is stored; without variants the product still points at it
+                try {
+                    pointProductAt(productId, fileName);
+                } catch (RuntimeException e) {
+                    log.error("Could not set the image of product {} to {}", productId, fileName, e);
+                }
+            }
+        });
+    }
+
+    private void pointProductAt(Long productId, String fileName) {
+        productRepository.updateImageUrl(productId, fileName);
+        productRepository.findById(productId).ifPresent(product -> {
+            Long categoryId = product.getCategory() == null ? null : product.getCategory().getCategoryId();
+            catalogResponseCache.evictProduct(productId, categoryId, product.getProductName(), product.getDescription());
+            catalogVersion.bump(categoryId);
+        });
+    }
+
+    private void createVariants(String fileName) throws IOException {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = fileName.substring(0, dot);
+        String extension = fileName.substring(dot + 1);
+
+        BufferedImage original = null;
+        for (int width : variantWidths) {
+            Path variantPath = Paths.get(path, baseName + "_" + width + "." + extension);
+            // Content-addressed names: an existing variant is already the right one
+            if (Files.exists(variantPath)) {
+                continue;
+            }
+            if (original == null) {
+                original = ImageIO.read(Paths.get(path, fileName).toFile());
+                if (original == null) {
+                    log.warn("Unsupported image format for {}", fileName);
+                    return;
+                }
+            }
+            BufferedImage variant = original.getWidth() <= width ? original : resize(original, width);
+            Path tempFile = Files.createTempFile(variantPath.getParent(), "variant-", "." + extension);
+            try {
+                if (!ImageIO.write(variant, extension, tempFile.toFile())) {
+                    log.warn("No image writer for {}", fileName);
+                    return;
+                }
+                Files.move(tempFile, variantPath, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Gone after the move; anything else must not be left behind in the image directory
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage original, int width) {
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        int type = original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
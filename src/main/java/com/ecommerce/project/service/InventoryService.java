@@ -0,0 +1,12 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.ReservationDTO;
+
+public interface InventoryService {
+    ReservationDTO reserve(Long productId, Integer quantity, String owner);
+    ReservationDTO release(String reservationId, String owner);
+    ReservationDTO commit(String reservationId, String owner);
+    void flush();
+    void productRemoved(Long productId);
+    void resync();
+}
@@ -0,0 +1,379 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogVersion;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.inventory.StripedStock;
+import com.ecommerce.project.payload.ReservationDTO;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock reservations served from memory. The first reservation of a product loads its quantity from
+ * the primary into a {@link StripedStock}; reserve and release only move units between that stock and
+ * the reservations, and commit adds them to the product's sold count. A background task writes the
+ * sold counts to the database in one batch per interval and expires reservations that were neither
+ * committed nor released. A reservation can only be committed or released by the caller that made it.
+ *
+ * <p>Every instance keeps its own ledger. The flush never takes the quantity column below zero: a row
+ * another instance has already sold down only gives up what is left, and the ledger is reconciled with
+ * the database. Every resync interval the loaded stocks re-read their quantity, so sales made elsewhere
+ * and restocks written straight to the table reach the ledger. Between two resyncs, instances can still
+ * confirm more units than remain; those oversold units are logged. Commits made since the last flush
+ * are lost if the process dies, and open reservations always are.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    private static final String RESERVED = "RESERVED";
+    private static final String RELEASED = "RELEASED";
+    private static final String COMMITTED = "COMMITTED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    private record Reservation(String reservationId, Long productId, int quantity, Instant expiresAt, String owner) {
+    }
+
+    private static final class ProductStock {
+        final StripedStock stock;
+        final Long categoryId;
+        // Committed units not written to the database yet
+        final AtomicLong sold = new AtomicLong();
+        // Units the database lost to other writers while they were reserved here; paid back from released units
+        final AtomicLong shortfall = new AtomicLong();
+        // The database quantity as of the last flush or resync; only written under the flush lock
+        volatile long quantity;
+
+        ProductStock(long quantity, Long categoryId, int stripes) {
+            this.stock = new StripedStock(quantity, stripes);
+            this.categoryId = categoryId;
+            this.quantity = quantity;
+        }
+    }
+
+    private final ConcurrentMap<Long, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong reservationSequence = new AtomicLong();
+    private final int stripes;
+    private final Duration reservationTtl;
+    private final long flushIntervalMillis;
+    private final long resyncIntervalNanos;
+    private volatile long lastResync = System.nanoTime();
+    // Not a monitor: flush and resync hold it across JDBC calls, and request threads may be virtual
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("inventory-flush").daemon().factory());
+
+    public InventoryServiceImpl(@Value("${project.inventory.stripes:8}") int stripes,
+                                @Value("${project.inventory.reservation-ttl:10m}") Duration reservationTtl,
+                                @Value("${project.inventory.flush-interval:200ms}") Duration flushInterval,
+                                @Value("${project.inventory.resync-interval:5s}") Duration resyncInterval) {
+        this.stripes = stripes;
+        this.reservationTtl = reservationTtl;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.resyncIntervalNanos = resyncInterval.toNanos();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor.scheduleWithFixedDelay(this::tick, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ReservationDTO reserve(Long productId, Integer quantity, String owner) {
+        if (quantity == null || quantity < 1) {
+            throw new APIException("Quantity must be at least 1");
+        }
+        ProductStock productStock = stocks.computeIfAbsent(productId, this::loadStock);
+        if (!productStock.stock.tryTake(quantity)) {
+            throw new APIException("Not enough stock for product " + productId);
+        }
+        // Unique through the sequence, hard to guess through the random part; no lock on the hot path
+        String reservationId = Long.toString(reservationSequence.incrementAndGet(), 36) + "-"
+                + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        Reservation reservation = new Reservation(reservationId, productId, quantity, Instant.now().plus(reservationTtl), owner);
+        reservations.put(reservationId, reservation);
+        return toDTO(reservation, RESERVED);
+    }
+
+    @Override
+    public ReservationDTO release(String reservationId, String owner) {
+        Reservation reservation = takeReservation(reservationId, owner);
+        returnToStock(reservation);
+        return toDTO(reservation, RELEASED);
+    }
+
+    @Override
+    public ReservationDTO commit(String reservationId, String owner) {
+        Reservation reservation = takeReservation(reservationId, owner);
+        if (reservation.expiresAt().isBefore(Instant.now())) {
+            returnToStock(reservation);
+            throw new APIException("Reservation " + reservationId + " has expired");
+        }
+        ProductStock productStock = stocks.get(reservation.productId());
+        if (productStock == null) {
+            throw new ResourceNotFoundException("Product", "ProductId", reservation.productId());
+        }
+        productStock.sold.addAndGet(reservation.quantity());
+        return toDTO(reservation, COMMITTED);
+    }
+
+    /**
+     * Writes the units committed since the last flush, one guarded UPDATE per product in a single JDBC
+     * batch. The version is bumped too, so a whole-product update that read the old quantity fails
+     * instead of writing it back. A row with less quantity left than was sold here takes what is left.
+     */
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<Long, Long> sold = new HashMap<>();
+        stocks.forEach((productId, productStock) -> {
+            long units = productStock.sold.getAndSet(0);
+            if (units > 0) {
+                sold.put(productId, units);
+            }
+        });
+        if (sold.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> entries = List.copyOf(sold.entrySet());
+        List<Object[]> batch = entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList();
+        // What a short row had left when it was sold out
+        Map<Long, Long> remainders = new HashMap<>();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                int[] rowCounts = jdbcTemplate.batchUpdate(
+                        "update products set quantity = quantity - ?, version = version + 1 where product_id = ? and quantity >= ?", batch);
+                for (int i = 0; i < rowCounts.length; i++) {
+                    if (rowCounts[i] == 0) {
+                        Long productId = entries.get(i).getKey();
+                        remainders.put(productId, sellOut(productId));
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            // Nothing was written: keep the units for the next flush
+            sold.forEach((productId, units) -> {
+                ProductStock productStock = stocks.get(productId);
+                if (productStock != null) {
+                    productStock.sold.addAndGet(units);
+                }
+            });
+            throw e;
+        }
+
+        sold.forEach((productId, units) -> {
+            ProductStock productStock = stocks.get(productId);
+            if (productStock == null) {
+                return;
+            }
+            productStock.quantity -= units;
+            Long remainder = remainders.get(productId);
+            if (remainder != null) {
+                log.warn("Product {} was oversold by {} units: other writers sold it down before this instance flushed",
+                        productId, units - remainder);
+                // The ledger expected quantity - units to be left; the database has nothing
+                reconcile(productStock, 0);
+            }
+            productFacetIndex.updateStock(productId, productStock.quantity > 0);
+            productAutocompleteIndex.recordSales(productId, units);
+            catalogResponseCache.evictProduct(productId, productStock.categoryId);
+            catalogVersion.bump(productStock.categoryId);
+        });
+    }
+
+    // Takes whatever quantity a row still has, under a row lock, and returns it; 0 for a deleted row
+    private long sellOut(Long productId) {
+        List<Long> rows = jdbcTemplate.queryForList("select quantity from products where product_id = ? for update",
+                Long.class, productId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update("update products set quantity = 0, version = version + 1 where product_id = ?", productId);
+        return rows.get(0) == null ? 0 : rows.get(0);
+    }
+
+    /**
+     * Re-reads the quantity of every loaded product and moves the difference into or out of its stock,
+     * under the flush lock so the last known database quantity cannot move in between. Open
+     * reservations stay valid; units they hold beyond the new quantity are taken back as they are
+     * released.
+     */
+    @Override
+    public void resync() {
+        flushLock.lock();
+        try {
+            lastResync = System.nanoTime();
+            List<Long> productIds = List.copyOf(stocks.keySet());
+            if (productIds.isEmpty()) {
+                return;
+            }
+            Map<Long, Long> quantities = new HashMap<>();
+            NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+            namedJdbcTemplate.query("select product_id, quantity from products where product_id in (:ids)",
+                    Map.of("ids", productIds),
+                    resultSet -> {
+                        quantities.put(resultSet.getLong("product_id"), resultSet.getLong("quantity"));
+                    });
+            for (Long productId : productIds) {
+                ProductStock productStock = stocks.get(productId);
+                if (productStock == null) {
+                    continue;
+                }
+                Long quantity = quantities.get(productId);
+                if (quantity == null) {
+                    stocks.remove(productId);
+                    continue;
+                }
+                if (quantity != productStock.quantity) {
+                    reconcile(productStock, quantity);
+                    productFacetIndex.updateStock(productId, quantity > 0);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void productRemoved(Long productId) {
+        stocks.remove(productId);
+    }
+
+    // Caller holds the flush lock
+    private static void reconcile(ProductStock productStock, long quantity) {
+        long delta = quantity - productStock.quantity;
+        productStock.quantity = quantity;
+        if (delta > 0) {
+            putBack(productStock, delta);
+        } else if (delta < 0) {
+            productStock.shortfall.addAndGet(-delta - productStock.stock.takeUpTo(-delta));
+        }
+    }
+
+    private ProductStock loadStock(Long productId) {
+        // Outside a read-only transaction, so the routing data source reads the primary and never a lagging replica
+        List<ProductStock> rows = jdbcTemplate.query("select quantity, category_id from products where product_id = ?",
+                (resultSet, rowNum) -> new ProductStock(resultSet.getLong("quantity"),
+                        resultSet.getObject("category_id", Long.class), stripes),
+                productId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "ProductId", productId);
+        }
+        return rows.get(0);
+    }
+
+    private Reservation takeReservation(String reservationId, String owner) {
+        // Someone else's reservation looks exactly like one that does not exist
+        Reservation reservation = reservations.get(reservationId);
+        // remove() decides the race between release, commit and expiry: only one of them gets the units
+        if (reservation == null || !reservation.owner().equals(owner) || !reservations.remove(reservationId, reservation)) {
+            throw new ResourceNotFoundException("Reservation", "ReservationId", reservationId);
+        }
+        return reservation;
+    }
+
+    private void returnToStock(Reservation reservation) {
+        ProductStock productStock = stocks.get(reservation.productId());
+        if (productStock != null) {
+            putBack(productStock, reservation.quantity());
+        }
+    }
+
+    private static void putBack(ProductStock productStock, long units) {
+        long owed;
+        long paid;
+        do {
+            owed = productStock.shortfall.get();
+            paid = Math.min(owed, units);
+        } while (paid > 0 && !productStock.shortfall.compareAndSet(owed, owed - paid));
+        if (units > paid) {
+            productStock.stock.put(units - paid);
+        }
+    }
+
+    private void tick() {
+        try {
+            Instant now = Instant.now();
+            for (Reservation reservation : reservations.values()) {
+                if (reservation.expiresAt().isBefore(now) && reservations.remove(reservation.reservationId(), reservation)) {
+                    returnToStock(reservation);
+                }
+            }
+            flush();
+            if (System.nanoTime() - lastResync >= resyncIntervalNanos) {
+                resync();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not flush inventory, retrying in {} ms", flushIntervalMillis, e);
+        }
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation, String status) {
+        return new ReservationDTO(reservation.reservationId(), reservation.productId(), reservation.quantity(),
+                reservation.expiresAt(), status);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+}
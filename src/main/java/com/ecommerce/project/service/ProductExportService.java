@@ -0,0 +1,11 @@
+package com.ecommerce.project.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+    MediaType prepareExport(Long categoryId, String format);
+    long exportProducts(Long categoryId, String format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final int FLUSH_INTERVAL = Integer.parseInt(AppConstants.EXPORT_FETCH_SIZE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public MediaType prepareExport(Long categoryId, String format) {
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "CategoryId", categoryId);
+        }
+        if (format.equalsIgnoreCase("ndjson")) {
+            return NDJSON;
+        }
+        if (format.equalsIgnoreCase("csv")) {
+            return CSV;
+        }
+        throw new APIException("Unsupported export format: " + format);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(Long categoryId, String format, OutputStream outputStream) throws IOException {
+        boolean csv = format.equalsIgnoreCase("csv");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        if (csv) {
+            writer.write("productId,categoryId,productName,description,imageUrl,quantity,price,discount,specialPrice\n");
+        }
+
+        long count = 0;
+        try (Stream<Product> products = categoryId == null
+                ? productRepository.streamAll()
+                : productRepository.streamByCategoryId(categoryId)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                if (csv) {
+                    writeCsv(writer, product);
+                } else {
+                    writeJson(generator, product);
+                }
+                // Rows already written are never needed again, so keep the persistence context empty
+                entityManager.detach(product);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    writer.flush();
+                }
+            }
+        }
+        generator.flush();
+        writer.flush();
+        return count;
+    }
+
+    private void writeJson(JsonGenerator generator, Product product) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("productId", product.getProductId());
+        if (product.getCategory() != null) {
+            generator.writeNumberField("categoryId", product.getCategory().getCategoryId());
+        }
+        generator.writeStringField("productName", product.getProductName());
+        generator.writeStringField("description", product.getDescription());
+        generator.writeStringField("imageUrl", product.getImageUrl());
+        if (product.getQuantity() != null) {
+            generator.writeNumberField("quantity", product.getQuantity());
+        }
+        generator.writeNumberField("price", product.getPrice());
+        generator.writeNumberField("discount", product.getDiscount());
+        generator.writeNumberField("specialPrice", product.getSpecialPrice());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsv(Writer writer, Product product) throws IOException {
+        writer.write(String.valueOf(product.getProductId()));
+        writer.write(',');
+        writer.write(product.getCategory() == null ? "" : String.valueOf(product.getCategory().getCategoryId()));
+        writer.write(',');
+        writer.write(csvField(product.getProductName()));
+        writer.write(',');
+        writer.write(csvField(product.getDescription()));
+        writer.write(',');
+        writer.write(csvField(product.getImageUrl()));
+        writer.write(',');
+        writer.write(product.getQuantity() == null ? "" : String.valueOf(product.getQuantity()));
+        writer.write(',');
+        writer.write(String.valueOf(product.getPrice()));
+        writer.write(',');
+        writer.write(String.valueOf(product.getDiscount()));
+        writer.write(',');
+        writer.write(String.valueOf(product.getSpecialPrice()));
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
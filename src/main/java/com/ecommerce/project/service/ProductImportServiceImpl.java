@@ -0,0 +1,382 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.cache.CatalogVersion;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ImportRowError;
+import com.ecommerce.project.payload.ProductImportResponse;
+import com.ecommerce.project.payload.ProductImportRow;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("categoryId", "productName", "description", "quantity", "price", "discount");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogRowCounts catalogRowCounts;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${project.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${project.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record PendingRow(long lineNumber, Long categoryId, Product product) {
+    }
+
+    private static class ImportState {
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        final List<ImportRowError> errors = new ArrayList<>();
+        final Map<Long, Boolean> knownCategories = new HashMap<>();
+    }
+
+    @Override
+    public ProductImportResponse importProducts(InputStream inputStream, String format) throws IOException {
+        boolean csv = format.equalsIgnoreCase("csv");
+        if (!csv && !format.equalsIgnoreCase("ndjson")) {
+            throw new APIException("Unsupported import format: " + format);
+        }
+
+        long start = System.nanoTime();
+        ImportState state = new ImportState();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        CsvRecordReader csvReader = csv ? new CsvRecordReader(reader) : null;
+        long lineNumber = 0;
+        Map<String, Integer> csvHeader = null;
+        if (csv) {
+            String headerLine = csvReader.next();
+            if (headerLine == null) {
+                throw new APIException("CSV import requires a header line");
+            }
+            csvHeader = parseCsvHeader(headerLine);
+        }
+
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = csv ? csvReader.next() : reader.readLine()) != null) {
+            // A quoted CSV field may span several lines; errors point at the line the record starts on
+            lineNumber = csv ? csvReader.startLine() : lineNumber + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            state.totalRows++;
+            try {
+                ProductImportRow row = csv ? parseCsvRow(csvHeader, line) : objectMapper.readValue(line, ProductImportRow.class);
+                PendingRow pendingRow = toPendingRow(row, lineNumber, state);
+                if (pendingRow != null) {
+                    chunk.add(pendingRow);
+                }
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                reportError(state, lineNumber, "Malformed row: " + e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, state);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = elapsedMillis == 0 ? state.importedRows : state.importedRows * 1000.0 / elapsedMillis;
+        return new ProductImportResponse(state.totalRows, state.importedRows, state.failedRows,
+                elapsedMillis, rowsPerSecond, state.errors);
+    }
+
+    private PendingRow toPendingRow(ProductImportRow row, long lineNumber, ImportState state) {
+        Long categoryId = row.getCategoryId();
+        if (categoryId == null) {
+            reportError(state, lineNumber, "categoryId is required");
+            return null;
+        }
+        if (!state.knownCategories.computeIfAbsent(categoryId, categoryRepository::existsById)) {
+            reportError(state, lineNumber, String.format("Category not found with CategoryId: %d", categoryId));
+            return null;
+        }
+
+        Product product = new Product();
+        product.setProductName(row.getProductName());
+        product.setDescription(row.getDescription());
+        product.setQuantity(row.getQuantity());
+        product.setPrice(row.getPrice());
+        product.setDiscount(row.getDiscount());
+        product.setImageUrl("default.png");
+        double specialPrice = product.getPrice() -((product.getDiscount() * 0.01) * product.getPrice());
+        product.setSpecialPrice(specialPrice);
+
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            reportError(state, lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return new PendingRow(lineNumber, categoryId, product);
+    }
+
+    /**
+     * Splits CSV input into records rather than lines: a line break inside a quoted field
+     * belongs to the field, as exported by the CSV export.
+     */
+    private static class CsvRecordReader {
+
+        private final BufferedReader reader;
+        private long nextLine = 1;
+        private long startLine;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        // The raw record, quotes included, without its line break; null at the end of the input
+        String next() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            startLine = nextLine;
+            StringBuilder record = new StringBuilder();
+            boolean quoted = false;
+            while (c >= 0) {
+                if (c == '\r' || c == '\n') {
+                    boolean crlf = c == '\r' && skipLineFeed();
+                    nextLine++;
+                    if (!quoted) {
+                        return record.toString();
+                    }
+                    record.append(crlf ? "\r\n" : String.valueOf((char) c));
+                } else {
+                    // An escaped "" flips twice and leaves the state as it was
+                    if (c == '"') {
+                        quoted = !quoted;
+                    }
+                    record.append((char) c);
+                }
+                c = reader.read();
+            }
+            return record.toString();
+        }
+
+        long startLine() {
+            return startLine;
+        }
+
+        private boolean skipLineFeed() throws IOException {
+            reader.mark(1);
+            if (reader.read() == '\n') {
+                return true;
+            }
+            reader.reset();
+            return false;
+        }
+    }
+
+    private void writeChunk(List<PendingRow> chunk, ImportState state) {
+        List<Product> saved = new ArrayList<>(chunk.size());
+        List<PendingRow> duplicates = new ArrayList<>();
+        try {
+            persistRows(chunk, saved, duplicates);
+        } catch (DataAccessException | PersistenceException e) {
+            // The flush inside the callback is not translated, so both kinds land here. The chunk was
+            // rolled back as a whole (a concurrent insert won the unique constraint, or a category was
+            // deleted); retry it row by row so only the rows that really fail are reported
+            for (PendingRow row : chunk) {
+                try {
+                    persistRows(List.of(row), saved, duplicates);
+                } catch (DataAccessException | PersistenceException rowFailure) {
+                    reportError(state, row.lineNumber(), "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+
+        duplicates.forEach(row -> reportError(state, row.lineNumber(), "Product already exists"));
+        state.importedRows += saved.size();
+        saved.forEach(productSearchIndex::index);
+        saved.forEach(productFacetIndex::index);
+        productAutocompleteIndex.indexAll(saved);
+        saved.forEach(product -> catalogRowCounts.productAdded(product.getCategory().getCategoryId()));
+        catalogResponseCache.evictAll();
+        chunk.stream().map(PendingRow::categoryId).distinct().forEach(catalogVersion::bump);
+    }
+
+    // Adds to saved and duplicates only once the rows are committed
+    private void persistRows(List<PendingRow> rows, List<Product> saved, List<PendingRow> duplicates) {
+        List<Product> persisted = new ArrayList<>(rows.size());
+        List<PendingRow> taken = new ArrayList<>();
+        // A rolled back attempt leaves the sequence id and version on the entity
+        rows.forEach(row -> {
+            row.product().setProductId(null);
+            row.product().setVersion(0);
+        });
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, List<PendingRow>> rowsByCategory = rows.stream()
+                    .collect(Collectors.groupingBy(PendingRow::categoryId));
+            for (Map.Entry<Long, List<PendingRow>> entry : rowsByCategory.entrySet()) {
+                // One IN query per category and chunk instead of a duplicate check per row
+                Set<String> productNames = entry.getValue().stream()
+                        .map(row -> row.product().getProductName())
+                        .collect(Collectors.toSet());
+                Set<String> existing = new HashSet<>(productRepository.findProductNamesInCategory(entry.getKey(), productNames));
+                Category category = entityManager.getReference(Category.class, entry.getKey());
+
+                for (PendingRow row : entry.getValue()) {
+                    if (!existing.add(row.product().getProductName())) {
+                        taken.add(row);
+                        continue;
+                    }
+                    row.product().setCategory(category);
+                    entityManager.persist(row.product());
+                    persisted.add(row.product());
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        saved.addAll(persisted);
+        duplicates.addAll(taken);
+    }
+
+    private void reportError(ImportState state, long lineNumber, String message) {
+        state.failedRows++;
+        if (state.errors.size() < maxReportedErrors) {
+            state.errors.add(new ImportRowError(lineNumber, message));
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String headerLine) {
+        List<String> columns = parseCsvLine(headerLine);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new APIException("CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private ProductImportRow parseCsvRow(Map<String, Integer> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() < header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        ProductImportRow row = new ProductImportRow();
+        row.setCategoryId(parseLong(values.get(header.get("categoryId"))));
+        row.setProductName(values.get(header.get("productName")));
+        row.setDescription(values.get(header.get("description")));
+        String quantity = values.get(header.get("quantity")).trim();
+        row.setQuantity(quantity.isEmpty() ? null : Integer.valueOf(quantity));
+        row.setPrice(Double.parseDouble(values.get(header.get("price")).trim()));
+        row.setDiscount(Double.parseDouble(values.get(header.get("discount")).trim()));
+        return row;
+    }
+
+    private static Long parseLong(String value) {
+        return value.isBlank() ? null : Long.valueOf(value.trim());
+    }
+
+    // RFC 4180 style: fields may be quoted, and "" inside quotes is a literal quote
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
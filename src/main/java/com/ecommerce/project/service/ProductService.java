@@ -1,17 +1,26 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.payload.BulkRepriceRequest;
+import com.ecommerce.project.payload.BulkRepriceResponse;
+import com.ecommerce.project.payload.ProductBatchResponse;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.payload.ProductSuggestionResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface ProductService {
     ProductDTO addProduct(Long categoryId, ProductDTO productDTO);
-    ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
-    ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter);
+    ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter);
+    ProductBatchResponse getProductsByIds(List<Long> productIds);
     ProductResponse searchProductsByKeyword(String s, Integer pageNumber, Integer pageSize, String sortBy, String keyword);
+    ProductSuggestionResponse suggestProducts(String query, Long categoryId, Integer limit);
     ProductDTO updateProduct(Long productId, ProductDTO productDTO);
     ProductDTO deleteProduct(Long productId);
     ProductDTO updateProductImage(Long productId, MultipartFile imageFile) throws IOException;
+    BulkRepriceResponse repriceProducts(BulkRepriceRequest bulkRepriceRequest);
 }
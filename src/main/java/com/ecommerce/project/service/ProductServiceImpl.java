@@ -1,29 +1,92 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.cache.CatalogVersion;
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.BulkRepriceRequest;
+import com.ecommerce.project.payload.BulkRepriceResponse;
+import com.ecommerce.project.payload.FacetCounts;
+import com.ecommerce.project.payload.ProductBatchEntry;
+import com.ecommerce.project.payload.ProductBatchResponse;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.payload.ProductSuggestionDTO;
+import com.ecommerce.project.payload.ProductSuggestionResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
-import org.modelmapper.ModelMapper;
+import com.ecommerce.project.search.ProductAutocompleteIndex;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.util.AfterCommit;
+import com.ecommerce.project.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    // Sort columns that can be paged with an "after" cursor; each is non-null and indexed together with productId
+    private static final Map<String, Function<ProductDTO, Object>> CURSOR_SORT_KEYS = Map.of(
+            "productId", ProductDTO::getProductId,
+            "productName", ProductDTO::getProductName,
+            "price", ProductDTO::getPrice,
+            "discount", ProductDTO::getDiscount,
+            "specialPrice", ProductDTO::getSpecialPrice);
+
+    // Fetch plan for cursor pages: only the ProductDTO columns, so the category is never joined or selected
+    private static final List<String> LISTING_PROPERTIES = List.of(
+            "productId", "productName", "imageUrl", "description", "quantity", "price", "discount", "specialPrice");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -31,37 +94,78 @@ public class ProductServiceImpl implements ProductService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
 
     @Autowired
     private FIleService fileService;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogRowCounts catalogRowCounts;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
     @Value("${project.image}")
     private String path;
 
+    @Value("${project.search.mode:index}")
+    private String searchMode;
+
+    @Value("${project.batch.max-ids:500}")
+    private int batchMaxIds;
+
+    @Value("${project.batch.chunk-size:100}")
+    private int batchChunkSize;
+
 
     @Override
+    @Transactional
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow( () -> new ResourceNotFoundException("Category", "CategoryId",categoryId));
 
-        boolean isNotPresent = true;
-        List<Product> products = category.getProducts();
-        for (Product product : products) {
-            if (product.getProductName().equals(productDTO.getProductName())) {
-                isNotPresent = false;
-                break;
-            }
-        }
+        // Indexed lookup on (category_id, product_name); the unique constraint catches concurrent inserts
+        boolean isNotPresent = !productRepository.existsByCategoryAndProductName(category, productDTO.getProductName());
         if (isNotPresent) {
-            Product product = modelMapper.map(productDTO, Product.class);
+            Product product = productMapper.toEntity(productDTO);
             product.setCategory(category);
             product.setImageUrl("default.png");
             double specialPrice = product.getPrice() -((product.getDiscount() * 0.01) * product.getPrice());
             product.setSpecialPrice(specialPrice);
-            Product savedProduct = productRepository.save(product);
-
-            return modelMapper.map(savedProduct, ProductDTO.class);
+            Product savedProduct;
+            try {
+                savedProduct = productRepository.saveAndFlush(product);
+            } catch (DataIntegrityViolationException e) {
+                throw new APIException("Product already exists");
+            }
+            AfterCommit.run(() -> {
+                productSearchIndex.index(savedProduct);
+                productFacetIndex.index(savedProduct);
+                productAutocompleteIndex.index(savedProduct);
+                catalogRowCounts.productAdded(categoryId);
+                catalogResponseCache.evictProduct(savedProduct.getProductId(), categoryId, savedProduct.getProductName(), savedProduct.getDescription());
+                catalogVersion.bump(categoryId);
+            });
+
+            return productMapper.toDTO(savedProduct);
         } else {
             throw new APIException("Product already exists");
         }
@@ -70,67 +174,196 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending(): Sort.by(sortBy).descending();
-        Pageable pageDetail = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findAll(pageDetail);
-
-        List<Product> products = productPage.getContent();
-        List<ProductDTO> productDTOS = products.stream().map(product -> modelMapper.map(product, ProductDTO.class)).toList();
+    @Transactional(readOnly = true)
+    public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter) {
+        validateFilter(filter);
+        CatalogResponseCache.Key key = new CatalogResponseCache.Key(CatalogResponseCache.PRODUCTS, null, null,
+                pageNumber, pageSize, sortBy, sortOrder, after, totals, filter);
+        return catalogResponseCache.get(key, () -> loadAllProducts(pageNumber, pageSize, sortBy, sortOrder, after, totals, filter));
+    }
 
-        return setProductResponse(productDTOS, productPage);
+    private ProductResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter) {
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending(): Sort.by(sortBy).descending();
+        if (after != null) {
+            ScrollPosition position = decodeCursor(after, sortBy, List.of(sortBy));
+            Window<Product> productWindow = productRepository.findBy(filterSpecification(filter),
+                    query -> query.project(LISTING_PROPERTIES).sortBy(sortByAndOrder).limit(pageSize).scroll(position));
+            ProductResponse productResponse = setProductResponse(productWindow, pageSize, sortBy, List.of(sortBy));
+            productResponse.setFacets(productFacetIndex.facets(null, filter));
+            return productResponse;
+        }
+        Slice<ProductDTO> productSlice = filter.isEmpty()
+                ? productRepository.findAllProductDTOs(PageRequest.of(pageNumber, pageSize, sortByAndOrder))
+                : findFilteredSlice(filterSpecification(filter), sortByAndOrder, pageNumber, pageSize);
+        ProductResponse productResponse = setProductResponse(productSlice);
+        productResponse.setNextCursor(nextCursor(productSlice.getContent(), !productSlice.hasNext(), sortBy, List.of(sortBy)));
+        productResponse.setFacets(productFacetIndex.facets(null, filter));
+        if (totals) {
+            setTotals(productResponse, filter.isEmpty() ? catalogRowCounts.products(null) : matchingProducts(productResponse.getFacets(), filter));
+        }
+        return productResponse;
     }
 
     @Override
-    public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    @Transactional(readOnly = true)
+    public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter) {
+        validateFilter(filter);
+        CatalogResponseCache.Key key = new CatalogResponseCache.Key(CatalogResponseCache.CATEGORY_PRODUCTS, categoryId, null,
+                pageNumber, pageSize, sortBy, sortOrder, after, totals, filter);
+        return catalogResponseCache.get(key, () -> loadProductsByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder, after, totals, filter));
+    }
+
+    private ProductResponse loadProductsByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String after, boolean totals, ProductFilter filter) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow( () -> new ResourceNotFoundException("Category", "CategoryId",categoryId));
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending(): Sort.by(sortBy).descending();
-        Pageable pageDetail = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category, pageDetail);
+        // Category listings are ordered by price first, then by the requested sort, on every path, so moving
+        // from offset pages to cursors keeps the order
+        List<String> sortProperties = sortBy.equals("price") ? List.of("price") : List.of("price", sortBy);
+        Sort categoryOrder = sortBy.equals("price") ? Sort.by("price").ascending() : Sort.by("price").ascending().and(sortByAndOrder);
+        if (after != null) {
+            ScrollPosition position = decodeCursor(after, sortBy, sortProperties);
+            Window<Product> productWindow = productRepository.findBy(inCategory(category).and(filterSpecification(filter)),
+                    query -> query.project(LISTING_PROPERTIES).sortBy(categoryOrder).limit(pageSize).scroll(position));
+            if (productWindow.isEmpty() && after.isBlank() && filter.isEmpty()) {
+                throw new APIException(category.getCategoryName() + " does not have any products");
+            }
+            ProductResponse productResponse = setProductResponse(productWindow, pageSize, sortBy, sortProperties);
+            productResponse.setFacets(productFacetIndex.facets(categoryId, filter));
+            return productResponse;
+        }
+        Slice<ProductDTO> productSlice;
+        if (filter.isEmpty()) {
+            productSlice = productRepository.findProductDTOsByCategoryId(categoryId, PageRequest.of(pageNumber, pageSize, categoryOrder));
+            if (productSlice.isEmpty()) {
+                throw new APIException(category.getCategoryName() + " does not have any products");
+            }
+        } else {
+            productSlice = findFilteredSlice(inCategory(category).and(filterSpecification(filter)), categoryOrder, pageNumber, pageSize);
+        }
 
-        List<Product> products = productPage.getContent();
-        List<ProductDTO> productDTOS = products.stream().map(product -> modelMapper.map(product, ProductDTO.class)).toList();
+        ProductResponse productResponse = setProductResponse(productSlice);
+        productResponse.setFacets(productFacetIndex.facets(categoryId, filter));
+        if (totals) {
+            setTotals(productResponse, filter.isEmpty() ? catalogRowCounts.products(categoryId) : matchingProducts(productResponse.getFacets(), filter));
+        }
+        return productResponse;
+    }
 
-        if (productDTOS.isEmpty()) {
-            throw new APIException(category.getCategoryName() + " does not have any products");
+    @Override
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getProductsByIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new APIException("At least one product id is required");
         }
+        if (productIds.size() > batchMaxIds) {
+            throw new APIException("At most " + batchMaxIds + " product ids can be requested at once");
+        }
+        if (productIds.stream().anyMatch(Objects::isNull)) {
+            throw new APIException("Product ids must not be null");
+        }
+        Map<Long, ProductDTO> productsById = catalogResponseCache.getProducts(new LinkedHashSet<>(productIds), this::loadProducts);
+
+        List<ProductBatchEntry> entries = productIds.stream()
+                .map(productId -> new ProductBatchEntry(productId, productsById.containsKey(productId), productsById.get(productId)))
+                .toList();
+        int foundCount = (int) entries.stream().filter(ProductBatchEntry::isFound).count();
+        return new ProductBatchResponse(entries, foundCount, entries.size() - foundCount);
+    }
 
-        return setProductResponse(productDTOS, productPage);
+    // Cache misses only, one IN query per chunk so the bind list stays bounded
+    private Map<Long, ProductDTO> loadProducts(Set<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, ProductDTO> productsById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += batchChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchChunkSize, ids.size()));
+            productRepository.findProductDTOsByIdIn(chunk)
+                    .forEach(productDTO -> productsById.put(productDTO.getProductId(), productDTO));
+        }
+        return productsById;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse searchProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder ) {
+        CatalogResponseCache.Key key = new CatalogResponseCache.Key(CatalogResponseCache.KEYWORD_PRODUCTS, null, keyword,
+                pageNumber, pageSize, sortBy, sortOrder, null, true, null);
+        return catalogResponseCache.get(key, () -> loadProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        if (sortBy.equals(AppConstants.SORT_RELEVANCE)) {
+            if (searchMode.equalsIgnoreCase("index") && productSearchIndex.supports(keyword)) {
+                return searchProductsInIndex(keyword, pageNumber, pageSize);
+            }
+            sortBy = AppConstants.SORT_PRODUCT_BY;
+        }
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending(): Sort.by(sortBy).descending();
         Pageable pageDetail = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetail);
-
-        List<Product> products = productPage.getContent();
-        List<ProductDTO> productDTOS = products.stream().map(product -> modelMapper.map(product, ProductDTO.class)).toList();
+        Page<ProductDTO> productPage = productRepository.findProductDTOsByProductNameOrDescriptionLike('%' + keyword + '%', pageDetail);
 
-        if (productDTOS.isEmpty()) {
+        if (productPage.isEmpty()) {
             throw new APIException("Product not found with keyword " + keyword);
         }
 
-        return setProductResponse(productDTOS, productPage);
+        ProductResponse productResponse = setProductResponse(productPage);
+        setTotals(productResponse, productPage.getTotalElements());
+        return productResponse;
+    }
+
+    // Served from memory on every keystroke: no transaction, no query, and an unknown category just has no suggestions
+    @Override
+    public ProductSuggestionResponse suggestProducts(String query, Long categoryId, Integer limit) {
+        if (limit < 1) {
+            throw new APIException("limit must be at least 1");
+        }
+        int cappedLimit = Math.min(limit, productAutocompleteIndex.maxSuggestions());
+        List<ProductSuggestionDTO> suggestions = productAutocompleteIndex.complete(query, categoryId, cappedLimit).stream()
+                .map(suggestion -> new ProductSuggestionDTO(suggestion.productId(), suggestion.productName()))
+                .toList();
+        return new ProductSuggestionResponse(query, suggestions);
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         Product productDB = productRepository.findById(productId)
                 .orElseThrow( () -> new ResourceNotFoundException("Product", "ProductId",productId));
 
-            Product product = modelMapper.map(productDTO, Product.class);
+            Long oldCategoryId = categoryIdOf(productDB);
+            String oldProductName = productDB.getProductName();
+            String oldDescription = productDB.getDescription();
+
+            Product product = productMapper.toEntity(productDTO);
+            if (!Objects.equals(oldProductName, product.getProductName())
+                    && productRepository.existsByCategoryAndProductName(productDB.getCategory(), product.getProductName())) {
+                throw new APIException("Product already exists");
+            }
             productDB.setProductName(product.getProductName());
             productDB.setDescription(product.getDescription());
             productDB.setPrice(product.getPrice());
             productDB.setDiscount(product.getDiscount());
-            productDB.setSpecialPrice(product.getSpecialPrice());
-            productDB.setCategory(product.getCategory());
-            Product savedProduct = productRepository.save(productDB);
-
-            return modelMapper.map(savedProduct, ProductDTO.class);
+            // Same formula as addProduct; the category is not part of ProductDTO and stays as it is
+            double specialPrice = productDB.getPrice() -((productDB.getDiscount() * 0.01) * productDB.getPrice());
+            productDB.setSpecialPrice(specialPrice);
+            // Flushed here so a concurrent rename into the same name fails before the indexes see it
+            Product savedProduct;
+            try {
+                savedProduct = productRepository.saveAndFlush(productDB);
+            } catch (DataIntegrityViolationException e) {
+                throw new APIException("Product already exists");
+            }
+            AfterCommit.run(() -> {
+                productSearchIndex.index(savedProduct);
+                productFacetIndex.index(savedProduct);
+                productAutocompleteIndex.index(savedProduct);
+                catalogResponseCache.evictProduct(productId, oldCategoryId, oldProductName, oldDescription,
+                        savedProduct.getProductName(), savedProduct.getDescription());
+                catalogVersion.bump(oldCategoryId);
+            });
+
+            return productMapper.toDTO(savedProduct);
     }
 
     @Override
@@ -143,36 +376,227 @@ public class ProductServiceImpl implements ProductService {
         // Get the file name of uploaded image
         String fileName = fileService.uploadImage(path, imageFile);
 
-        // Updating the new file name to the product
-        productDB.setImageUrl(fileName);
-
-        //Save the updated product
-        Product updatedProduct = productRepository.save(productDB);
+        // Variants are resized in the background; the product switches to the new file name once they are ready
+        imageProcessingService.processImage(productId, fileName);
 
         // Return DTO after mapping the product to DTO
-        return modelMapper.map(updatedProduct, ProductDTO.class);
+        return productMapper.toDTO(productDB);
     }
 
     @Override
+    @Transactional
     public ProductDTO deleteProduct(Long productId) {
         Product productDB = productRepository.findById(productId)
                 .orElseThrow( () -> new ResourceNotFoundException("Product", "ProductId",productId));
         productRepository.delete(productDB);
-        return modelMapper.map(productDB, ProductDTO.class);
+        Long categoryId = categoryIdOf(productDB);
+        AfterCommit.run(() -> {
+            productSearchIndex.remove(productId);
+            productFacetIndex.remove(productId);
+            productAutocompleteIndex.remove(productId);
+            inventoryService.productRemoved(productId);
+            catalogRowCounts.productRemoved(categoryId);
+            catalogResponseCache.evictProduct(productId, categoryId, productDB.getProductName(), productDB.getDescription());
+            catalogVersion.bump(categoryId);
+        });
+        return productMapper.toDTO(productDB);
+    }
+
+    @Override
+    public BulkRepriceResponse repriceProducts(BulkRepriceRequest bulkRepriceRequest) {
+        Long categoryId = bulkRepriceRequest.getCategoryId();
+        Double discount = bulkRepriceRequest.getDiscount();
+        Double priceChangePercent = bulkRepriceRequest.getPriceChangePercent();
+        ProductFilter filter = bulkRepriceRequest.getFilter() == null ? new ProductFilter() : bulkRepriceRequest.getFilter();
+        if (discount == null && priceChangePercent == null) {
+            throw new APIException("Either discount or priceChangePercent is required");
+        }
+        if (discount != null && (discount < 0 || discount > 100)) {
+            throw new APIException("discount must be between 0 and 100");
+        }
+        if (priceChangePercent != null && priceChangePercent <= -100) {
+            throw new APIException("priceChangePercent must be greater than -100");
+        }
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "CategoryId", categoryId);
+        }
+        validateFilter(filter);
+        Double priceFactor = priceChangePercent == null ? null : 1 + priceChangePercent / 100;
+
+        long start = System.nanoTime();
+        // One UPDATE for the whole campaign instead of a load and save per product
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer affectedProducts = transactionTemplate.execute(status ->
+                entityManager.createQuery(repriceUpdate(categoryId, filter, priceFactor, discount)).executeUpdate());
+
+        Set<Long> affectedCategories = productFacetIndex.reprice(categoryId, filter, priceFactor, discount);
+        catalogResponseCache.evictAll();
+        catalogVersion.bump(categoryId);
+        affectedCategories.forEach(catalogVersion::bump);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkRepriceResponse(affectedProducts.longValue(), affectedCategories.size(), elapsedMillis);
+    }
+
+    private CriteriaUpdate<Product> repriceUpdate(Long categoryId, ProductFilter filter, Double priceFactor, Double discount) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+
+        // SET expressions see the old column values, so the new price and discount are written out in full
+        Expression<Double> newPrice = priceFactor == null ? root.<Double>get("price") : cb.prod(root.<Double>get("price"), priceFactor);
+        Expression<Double> newDiscount = discount == null ? root.<Double>get("discount") : cb.literal(discount);
+        if (priceFactor != null) {
+            update.set(root.<Double>get("price"), newPrice);
+        }
+        if (discount != null) {
+            update.set(root.<Double>get("discount"), discount);
+        }
+        // Same formula as addProduct: price - (discount * 0.01) * price
+        update.set(root.<Double>get("specialPrice"), cb.diff(newPrice, cb.prod(cb.prod(newDiscount, 0.01), newPrice)));
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate where = filterSpecification(filter).toPredicate(root, null, cb);
+        if (categoryId != null) {
+            where = cb.and(where, cb.equal(root.get("category").get("categoryId"), categoryId));
+        }
+        return update.where(where);
+    }
+
+    // Constructor projection of the listing columns, pageSize + 1 rows and no COUNT query
+    private Slice<ProductDTO> findFilteredSlice(Specification<Product> specification, Sort sort, Integer pageNumber, Integer pageSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductDTO.class, LISTING_PROPERTIES.stream().map(root::get).toArray(Selection<?>[]::new)))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        List<ProductDTO> products = entityManager.createQuery(query)
+                .setFirstResult(pageNumber * pageSize)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        boolean hasNext = products.size() > pageSize;
+        return new SliceImpl<>(hasNext ? products.subList(0, pageSize) : products, PageRequest.of(pageNumber, pageSize, sort), hasNext);
+    }
+
+    // The facets already count the filtered products, once with and once without the in-stock filter
+    private static long matchingProducts(FacetCounts facets, ProductFilter filter) {
+        return Boolean.TRUE.equals(filter.getInStock()) ? facets.getInStock() : facets.getInStock() + facets.getOutOfStock();
+    }
+
+    private static Specification<Product> inCategory(Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    private static Specification<Product> filterSpecification(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.ge(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.le(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinSpecialPrice() != null) {
+                predicates.add(cb.ge(root.get("specialPrice"), filter.getMinSpecialPrice()));
+            }
+            if (filter.getMaxSpecialPrice() != null) {
+                predicates.add(cb.le(root.get("specialPrice"), filter.getMaxSpecialPrice()));
+            }
+            if (filter.getMinDiscount() != null) {
+                predicates.add(cb.ge(root.get("discount"), filter.getMinDiscount()));
+            }
+            if (Boolean.TRUE.equals(filter.getInStock())) {
+                predicates.add(cb.gt(root.get("quantity"), 0));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void validateFilter(ProductFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new APIException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.getMinSpecialPrice() != null && filter.getMaxSpecialPrice() != null
+                && filter.getMinSpecialPrice() > filter.getMaxSpecialPrice()) {
+            throw new APIException("minSpecialPrice must not be greater than maxSpecialPrice");
+        }
+    }
+
+    private Long categoryIdOf(Product product) {
+        return product.getCategory() == null ? null : product.getCategory().getCategoryId();
     }
 
-    private ProductResponse setProductResponse(List<ProductDTO> productDTOS, Page<Product> productPage) {
+    private ProductResponse searchProductsInIndex(String keyword, Integer pageNumber, Integer pageSize) {
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(keyword, pageNumber, pageSize);
+        if (result.totalElements() == 0) {
+            throw new APIException("Product not found with keyword " + keyword);
+        }
+
+        List<Long> productIds = Arrays.stream(result.productIds()).boxed().toList();
+        Map<Long, ProductDTO> productsById = productRepository.findProductDTOsByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductDTO::getProductId, Function.identity()));
+        List<ProductDTO> productDTOS = productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        int totalPages = (int) ((result.totalElements() + pageSize - 1) / pageSize);
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);
-        productResponse.setTotalElements(productPage.getTotalElements());
-        productResponse.setTotalPages(productPage.getTotalPages());
-        productResponse.setPageNumber(productPage.getNumber());
-        productResponse.setPageSize(productPage.getSize());
-        productResponse.setLastPage(productPage.isLast());
+        productResponse.setTotalElements(result.totalElements());
+        productResponse.setTotalPages(totalPages);
+        productResponse.setPageNumber(pageNumber);
+        productResponse.setPageSize(pageSize);
+        productResponse.setLastPage(pageNumber + 1 >= totalPages);
+        return productResponse;
+    }
+
+    // Totals are left empty; setTotals fills them in when they were asked for
+    private ProductResponse setProductResponse(Slice<ProductDTO> productSlice) {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productSlice.getContent());
+        productResponse.setPageNumber(productSlice.getNumber());
+        productResponse.setPageSize(productSlice.getSize());
+        productResponse.setLastPage(!productSlice.hasNext());
 
         return productResponse;
     }
 
+    private static void setTotals(ProductResponse productResponse, long totalElements) {
+        productResponse.setTotalElements(totalElements);
+        productResponse.setTotalPages((int) ((totalElements + productResponse.getPageSize() - 1) / productResponse.getPageSize()));
+    }
+
+    // Cursor pages skip the COUNT query, so totals and page number are left empty
+    private ProductResponse setProductResponse(Window<Product> productWindow, Integer pageSize, String sortBy, List<String> sortProperties) {
+        List<ProductDTO> productDTOS = productWindow.getContent().stream().map(productMapper::toDTO).toList();
+
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productDTOS);
+        productResponse.setPageSize(pageSize);
+        productResponse.setLastPage(!productWindow.hasNext());
+        productResponse.setNextCursor(nextCursor(productDTOS, !productWindow.hasNext(), sortBy, sortProperties));
+
+        return productResponse;
+    }
+
+    private ScrollPosition decodeCursor(String after, String sortBy, List<String> sortProperties) {
+        if (!CURSOR_SORT_KEYS.containsKey(sortBy)) {
+            throw new APIException("Cursor paging is not supported for sortBy: " + sortBy);
+        }
+        return CursorCodec.decode(after, sortBy, sortProperties, "productId");
+    }
+
+    private String nextCursor(List<ProductDTO> products, boolean lastPage, String sortBy, List<String> sortProperties) {
+        if (lastPage || !CURSOR_SORT_KEYS.containsKey(sortBy) || products.isEmpty()) {
+            return null;
+        }
+        ProductDTO last = products.get(products.size() - 1);
+        List<Object> sortValues = sortProperties.stream().map(property -> CURSOR_SORT_KEYS.get(property).apply(last)).toList();
+        return CursorCodec.encode(sortBy, sortValues, last.getProductId());
+    }
+
 
 
 }
@@ -0,0 +1,29 @@
+package com.ecommerce.project.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of the in-memory catalog state (indexes, response caches, row counts and
+ * versions) until the surrounding transaction has committed, so a rollback leaves them untouched
+ * and a concurrent reader cannot cache rows that are not visible yet.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Runs right away when no transaction is active
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
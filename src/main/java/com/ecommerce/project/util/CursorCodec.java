@@ -0,0 +1,92 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.exceptions.APIException;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the last sort keys and id of a page into an opaque "after" token,
+ * and turns such a token back into a keyset scroll position.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u0000";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String sortBy, Object sortValue, Long id) {
+        return encode(sortBy, List.of(sortValue), id);
+    }
+
+    /**
+     * {@code sortValues} follow the listing's sort properties in order; {@code sortBy} only labels the
+     * token, so a cursor cannot be replayed against another sort.
+     */
+    public static String encode(String sortBy, List<Object> sortValues, Long id) {
+        List<String> parts = new ArrayList<>();
+        parts.add(sortBy);
+        parts.add(String.valueOf(id));
+        for (Object sortValue : sortValues) {
+            String type = sortValue instanceof String ? "S"
+                    : sortValue instanceof Double ? "D"
+                    : sortValue instanceof Long ? "L"
+                    : sortValue instanceof Integer ? "I" : null;
+            if (type == null) {
+                throw new APIException("Cursor paging is not supported for sortBy: " + sortBy);
+            }
+            parts.add(type);
+            parts.add(String.valueOf(sortValue));
+        }
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String cursor, String sortBy, String idProperty) {
+        return decode(cursor, sortBy, List.of(sortBy), idProperty);
+    }
+
+    public static ScrollPosition decode(String cursor, String sortBy, List<String> sortProperties, String idProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        // The last value keeps any separator it contains
+        int length = 2 + 2 * sortProperties.size();
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, length);
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid cursor");
+        }
+        if (parts.length != length) {
+            throw new APIException("Invalid cursor");
+        }
+        if (!parts[0].equals(sortBy)) {
+            throw new APIException("Cursor was issued for sortBy: " + parts[0]);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < sortProperties.size(); i++) {
+                String value = parts[3 + 2 * i];
+                keys.put(sortProperties.get(i), switch (parts[2 + 2 * i]) {
+                    case "S" -> value;
+                    case "D" -> Double.valueOf(value);
+                    case "L" -> Long.valueOf(value);
+                    case "I" -> Integer.valueOf(value);
+                    default -> throw new APIException("Invalid cursor");
+                });
+            }
+            keys.put(idProperty, Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.project.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void growsWhileLatencyStaysFlatAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5);
+        for (int round = 0; round < 50; round++) {
+            runFullRound(limit, 10 * MILLIS);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        // Before the long-term baseline has moved up to the new latency
+        for (int round = 0; round < 3; round++) {
+            runFullRound(limit, 100 * MILLIS);
+        }
+        assertTrue(limit.getLimit() < grown, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void concurrentReleasesKeepTheCountsExact() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 200, 1.5);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int task = 0; task < 10_000; task++) {
+                executor.submit(() -> {
+                    if (limit.tryAcquire(1.0)) {
+                        limit.release(ThreadLocalRandom.current().nextLong(1, 20) * MILLIS);
+                    }
+                });
+            }
+        }
+        assertEquals(0, limit.getInFlight());
+        assertTrue(limit.getLimit() >= 4 && limit.getLimit() <= 200, "limit " + limit.getLimit());
+    }
+
+    // Fills the current limit, then completes every request with the same latency
+    private static void runFullRound(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire(1.0)) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos);
+        }
+    }
+}
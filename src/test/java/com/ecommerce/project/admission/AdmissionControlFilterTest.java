@@ -0,0 +1,64 @@
+package com.ecommerce.project.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionControlFilterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    @Test
+    void adminPathsPayIntoTheTokenBucketToo() throws Exception {
+        AdmissionControlFilter filter = filter("", Set.of());
+
+        assertEquals(200, send(filter, "/api/admin/products/1", "192.0.2.7", null));
+        assertEquals(200, send(filter, "/api/admin/products/1", "192.0.2.7", null));
+        assertEquals(429, send(filter, "/api/admin/products/1", "192.0.2.7", null));
+    }
+
+    @Test
+    void clientHeaderIsOnlyTrustedFromTheProxies() throws Exception {
+        AdmissionControlFilter filter = filter("X-Forwarded-For", Set.of(PROXY));
+
+        // A spoofed first value does not buy a fresh bucket: the proxy appended the real client last
+        assertEquals(200, send(filter, "/api/public/categories", PROXY, "203.0.113.1, 198.51.100.9"));
+        assertEquals(200, send(filter, "/api/public/categories", PROXY, "203.0.113.2, 198.51.100.9"));
+        assertEquals(429, send(filter, "/api/public/categories", PROXY, "203.0.113.3, 198.51.100.9"));
+        assertEquals(200, send(filter, "/api/public/categories", PROXY, "198.51.100.10"));
+
+        // Sent straight to the application, the header is ignored
+        assertEquals(200, send(filter, "/api/public/categories", "192.0.2.8", "198.51.100.11"));
+        assertEquals(200, send(filter, "/api/public/categories", "192.0.2.8", "198.51.100.12"));
+        assertEquals(429, send(filter, "/api/public/categories", "192.0.2.8", "198.51.100.13"));
+    }
+
+    @Test
+    void clientHeaderWithoutTrustedProxiesIsRejected() {
+        assertThrows(IllegalStateException.class, () -> filter("X-Forwarded-For", Set.of()));
+    }
+
+    // Two tokens per client and no refill worth mentioning during a test
+    private static AdmissionControlFilter filter(String clientHeader, Set<String> trustedProxies) {
+        return new AdmissionControlFilter(new TokenBucketTable(1024, 0.001, 2), new AdaptiveConcurrencyLimit(20, 4, 200, 1.5),
+                new SimpleMeterRegistry(), clientHeader, trustedProxies, 5, 0.9, 0.5);
+    }
+
+    private static int send(AdmissionControlFilter filter, String path, String remoteAddress, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
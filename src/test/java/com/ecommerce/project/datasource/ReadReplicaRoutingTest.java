@@ -0,0 +1,98 @@
+package com.ecommerce.project.datasource;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.CategoryResponse;
+import com.ecommerce.project.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "project.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "project.datasource.replica.simulated-delay=300ms",
+        "project.datasource.replica.heartbeat-interval=100ms",
+        "project.datasource.replica.max-lag=5s",
+        "project.cache.maximum-size=0"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearClient() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void onlyTheWritersReadsStayOnThePrimaryUntilTheReplicaHasCaughtUp() throws InterruptedException {
+        awaitReplicaFor("reader");
+
+        actAs("writer");
+        categoryService.createCategory(new CategoryDTO(null, "Replicated category"));
+
+        double fallbacks = routed("primary-fallback");
+        assertTrue(containsCategory(listCategories(), "Replicated category"));
+        assertEquals(fallbacks + 1, routed("primary-fallback"));
+
+        // Someone else's write does not take this reader off the replica
+        actAs("reader");
+        assertTrue(replicaLagMonitor.canServeReads("reader"));
+        double replicaReads = routed("replica");
+        try {
+            // Descending, so the writer's response is not served from the cache instead
+            categoryService.getAllCategories(0, 50, "categoryId", "desc", null, true);
+        } catch (APIException e) {
+            // The replica may not have the category yet, and then holds no categories at all
+        }
+        assertEquals(replicaReads + 1, routed("replica"));
+
+        actAs("writer");
+        awaitReplicaFor("writer");
+        replicaReads = routed("replica");
+        assertTrue(containsCategory(categoryService.getAllCategories(0, 49, "categoryId", "asc", null, true), "Replicated category"));
+        assertEquals(replicaReads + 1, routed("replica"));
+    }
+
+    private void awaitReplicaFor(String client) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!replicaLagMonitor.canServeReads(client) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(replicaLagMonitor.canServeReads(client), "replica did not catch up");
+    }
+
+    private static void actAs(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+    }
+
+    private CategoryResponse listCategories() {
+        return categoryService.getAllCategories(0, 50, "categoryId", "asc", null, true);
+    }
+
+    private static boolean containsCategory(CategoryResponse categoryResponse, String categoryName) {
+        return categoryResponse.getContent().stream().anyMatch(category -> category.getCategoryName().equals(categoryName));
+    }
+
+    private double routed(String route) {
+        return meterRegistry.counter("catalog.datasource.routing", "route", route).count();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.project.exceptions;
+
+import com.ecommerce.project.payload.APIResponse;
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MyGlobalExceptionHandlerTest {
+
+    private final MyGlobalExceptionHandler handler = new MyGlobalExceptionHandler();
+
+    @Test
+    void poolTimeoutIsReportedAsBusy() throws Exception {
+        CannotCreateTransactionException e = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new JDBCConnectionException("Unable to acquire JDBC Connection",
+                        new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 250ms")));
+
+        ResponseEntity<APIResponse> response = handler.myConnectionUnavailableException(e);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void unreachableDatabaseIsNotReportedAsBusy() {
+        CannotCreateTransactionException e = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new JDBCConnectionException("Unable to acquire JDBC Connection",
+                        new SQLException("Connection refused", new ConnectException("Connection refused"))));
+
+        assertSame(e, assertThrows(CannotCreateTransactionException.class, () -> handler.myConnectionUnavailableException(e)));
+    }
+}
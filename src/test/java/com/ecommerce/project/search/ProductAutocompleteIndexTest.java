@@ -0,0 +1,78 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductAutocompleteIndexTest {
+
+    private static final Category SHIRTS = new Category(1L, "Shirts", null);
+    private static final Category KITCHEN = new Category(2L, "Kitchen", null);
+
+    // Threshold 2, so most prefixes below keep a top-k list that updates have to patch
+    private final ProductAutocompleteIndex index = new ProductAutocompleteIndex(3, 2, 1 << 20);
+
+    @BeforeEach
+    void indexCatalog() {
+        List<Product> products = new ArrayList<>();
+        for (long productId = 1; productId <= 6; productId++) {
+            products.add(product(productId, (productId % 2 == 0 ? "Red" : "Blue") + " Shirt " + productId, SHIRTS));
+        }
+        products.add(product(7L, "Red Kettle", KITCHEN));
+        index.indexAll(products);
+    }
+
+    @Test
+    void completesEveryWordOfTheNameShortestNamesFirst() {
+        assertEquals(List.of(7L, 2L, 4L), productIds("re", null));
+        assertEquals(List.of(2L, 4L, 6L), productIds("  RED   Sh", null));
+        assertEquals(List.of(2L, 4L, 6L), productIds("shirt", null));
+        assertEquals(List.of(5L), productIds("shirt 5", null));
+        assertEquals(List.of(), productIds("shirt 9", null));
+    }
+
+    @Test
+    void scopesSuggestionsToACategory() {
+        assertEquals(List.of(7L), productIds("red", KITCHEN.getCategoryId()));
+        assertEquals(List.of(2L, 4L, 6L), productIds("red", SHIRTS.getCategoryId()));
+        assertEquals(List.of(), productIds("red", 99L));
+    }
+
+    @Test
+    void ranksBySalesAndFollowsUpdates() {
+        assertEquals(List.of(2L, 4L, 6L), productIds("sh", null));
+        index.recordSales(6L, 5);
+        index.recordSales(3L, 2);
+        assertEquals(List.of(6L, 3L, 2L), productIds("sh", null));
+
+        index.remove(6L);
+        assertEquals(List.of(3L, 2L, 4L), productIds("sh", null));
+
+        // Renamed and moved: gone from its old prefixes and category, found under the new ones; sales are kept
+        index.index(product(3L, "Green Kettle", KITCHEN));
+        assertEquals(List.of(2L, 4L, 1L), productIds("sh", null));
+        assertEquals(List.of(3L, 7L), productIds("ke", KITCHEN.getCategoryId()));
+        assertTrue(index.estimatedBytes() > 0);
+    }
+
+    @Test
+    void neverReturnsMoreThanTheLimit() {
+        assertEquals(1, index.complete("s", null, 1).size());
+        assertEquals(3, index.complete("s", null, 10).size());
+    }
+
+    private List<Long> productIds(String query, Long categoryId) {
+        return index.complete(query, categoryId, 10).stream().map(ProductAutocompleteIndex.Suggestion::productId).toList();
+    }
+
+    private static Product product(Long productId, String productName, Category category) {
+        return new Product(productId, productName, "default.png", "Description", 10, 100.0, 0.0, 100.0, category, 0);
+    }
+}
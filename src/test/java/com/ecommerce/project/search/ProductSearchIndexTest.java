@@ -0,0 +1,60 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:search-index")
+class ProductSearchIndexTest {
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        Category category = categoryRepository.save(new Category(null, "Home and living", null));
+        productRepository.saveAll(List.of(
+                new Product(null, "Vintage Lamp", "default.png", "Brass desk lamp", 1, 50.0, 0.0, 50.0, category, 0),
+                new Product(null, "Lampshade", "default.png", "Fits any vintage lamp", 1, 20.0, 0.0, 20.0, category, 0),
+                new Product(null, "Wireless Kettle", "default.png", "Boils water without a lamp", 1, 30.0, 0.0, 30.0, category, 0)));
+        productSearchIndex.rebuild();
+    }
+
+    @Test
+    void matchesTheSameProductsAsTheLikeFallback() {
+        for (String keyword : List.of("lamp", "vintage", "kettle", "water", "desk")) {
+            List<Long> indexed = Arrays.stream(productSearchIndex.search(keyword, 0, 10).productIds()).sorted().boxed().toList();
+            List<Long> liked = productRepository.findProductDTOsByProductNameOrDescriptionLike('%' + keyword + '%', PageRequest.of(0, 10)).stream()
+                    .map(ProductDTO::getProductId).sorted().toList();
+            assertEquals(liked, indexed, keyword);
+        }
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        // "Wireless Kettle" only mentions a lamp in its description
+        long[] productIds = productSearchIndex.search("lamp", 0, 10).productIds();
+        assertEquals(3, productIds.length);
+        assertEquals("Wireless Kettle", productRepository.findById(productIds[2]).orElseThrow().getProductName());
+    }
+}
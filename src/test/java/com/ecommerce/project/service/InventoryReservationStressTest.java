@@ -0,0 +1,163 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ReservationDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-stress",
+        "project.inventory.flush-interval=20ms"
+})
+class InventoryReservationStressTest {
+
+    private static final int STOCK = 100;
+    private static final int BUYERS = 5_000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void flashSaleSellsEveryUnitExactlyOnce() throws InterruptedException {
+        Category category = categoryRepository.save(new Category(null, "Flash sale", null));
+        Product product = productRepository.save(new Product(null, "Flash sale SKU", "default.png", "Limited edition",
+                STOCK, 100.0, 50.0, 50.0, category, 0));
+        Long productId = product.getProductId();
+
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int buyer = 0; buyer < BUYERS; buyer++) {
+                executor.submit(() -> {
+                    start.await();
+                    ReservationDTO reservation;
+                    try {
+                        reservation = inventoryService.reserve(productId, 1, "buyer");
+                    } catch (APIException e) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                    inventoryService.commit(reservation.getReservationId(), "buyer");
+                    committed.incrementAndGet();
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(STOCK, committed.get());
+        assertEquals(BUYERS - STOCK, rejected.get());
+
+        inventoryService.flush();
+        Product flushed = productRepository.findById(productId).orElseThrow();
+        assertEquals(0, flushed.getQuantity());
+        assertTrue(flushed.getVersion() > product.getVersion());
+    }
+
+    @Test
+    void releasedUnitsCanBeReservedAgain() {
+        Category category = categoryRepository.save(new Category(null, "Restock", null));
+        Product product = productRepository.save(new Product(null, "Last unit SKU", "default.png", "Only one left",
+                1, 10.0, 0.0, 10.0, category, 0));
+
+        ReservationDTO first = inventoryService.reserve(product.getProductId(), 1, "buyer");
+        assertThrowsNotEnoughStock(product.getProductId());
+        inventoryService.release(first.getReservationId(), "buyer");
+
+        ReservationDTO second = inventoryService.reserve(product.getProductId(), 1, "buyer");
+        assertEquals("COMMITTED", inventoryService.commit(second.getReservationId(), "buyer").getStatus());
+        assertThrowsNotEnoughStock(product.getProductId());
+    }
+
+    @Test
+    void onlyTheOwnerCanCommitOrReleaseAReservation() {
+        Category category = categoryRepository.save(new Category(null, "Owned", null));
+        Product product = productRepository.save(new Product(null, "Owned SKU", "default.png", "Held for a buyer",
+                1, 10.0, 0.0, 10.0, category, 0));
+
+        ReservationDTO reservation = inventoryService.reserve(product.getProductId(), 1, "buyer");
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.commit(reservation.getReservationId(), "someone-else"));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.release(reservation.getReservationId(), "someone-else"));
+
+        assertEquals("RELEASED", inventoryService.release(reservation.getReservationId(), "buyer").getStatus());
+    }
+
+    @Test
+    void resyncMovesQuantityWritesIntoALoadedStock() {
+        Category category = categoryRepository.save(new Category(null, "Restocked", null));
+        Product product = productRepository.save(new Product(null, "Restocked SKU", "default.png", "Back in stock",
+                2, 10.0, 0.0, 10.0, category, 0));
+        Long productId = product.getProductId();
+        ReservationDTO held = inventoryService.reserve(productId, 2, "buyer");
+
+        setQuantity(productId, 5);
+        inventoryService.resync();
+        inventoryService.reserve(productId, 3, "buyer");
+        assertThrowsNotEnoughStock(productId);
+
+        // Shrinking below what is reserved keeps the reservations; the released units pay the difference
+        setQuantity(productId, 1);
+        inventoryService.resync();
+        inventoryService.release(held.getReservationId(), "buyer");
+        assertThrowsNotEnoughStock(productId);
+    }
+
+    @Test
+    void flushNeverTakesQuantityBelowZero() {
+        Category category = categoryRepository.save(new Category(null, "Two instances", null));
+        Product product = productRepository.save(new Product(null, "Shared SKU", "default.png", "Sold on two instances",
+                5, 10.0, 0.0, 10.0, category, 0));
+        Long productId = product.getProductId();
+        ReservationDTO early = inventoryService.reserve(productId, 1, "buyer");
+        ReservationDTO late = inventoryService.reserve(productId, 3, "buyer");
+
+        // Another instance sells three of the five units
+        jdbcTemplate.update("update products set quantity = quantity - 3 where product_id = ?", productId);
+
+        inventoryService.commit(late.getReservationId(), "buyer");
+        inventoryService.flush();
+        assertEquals(0, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        // The ledger now knows nothing is left: the one free unit and the released reservation are gone
+        assertThrowsNotEnoughStock(productId);
+        inventoryService.release(early.getReservationId(), "buyer");
+        assertThrowsNotEnoughStock(productId);
+    }
+
+    private void setQuantity(Long productId, int quantity) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setQuantity(quantity);
+        productRepository.save(product);
+    }
+
+    private void assertThrowsNotEnoughStock(Long productId) {
+        APIException e = assertThrows(APIException.class, () -> inventoryService.reserve(productId, 1, "buyer"));
+        assertTrue(e.getMessage().startsWith("Not enough stock"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.CatalogResponseCache;
+import com.ecommerce.project.cache.CatalogVersion;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductBatchEntry;
+import com.ecommerce.project.payload.ProductBatchResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-lookup",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "project.batch.chunk-size=100",
+        "project.batch.max-ids=500"
+})
+class ProductBatchLookupTest {
+
+    private static final int PRODUCT_COUNT = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        Category category = categoryRepository.save(new Category(null, "Electronics", null));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Product(null, "Product " + i, "default.png", "Description " + i, 10, 100.0 + i, 10.0, 90.0 + i, category, 0));
+        }
+        productIds = productRepository.saveAll(products).stream().map(Product::getProductId).sorted().toList();
+        catalogResponseCache.evictAll();
+    }
+
+    @Test
+    void returnsEntriesInRequestOrderWithNotFoundMarkers() {
+        List<Long> requested = List.of(productIds.get(7), -1L, productIds.get(2), productIds.get(7), -2L);
+
+        ProductBatchResponse response = productService.getProductsByIds(requested);
+
+        assertEquals(requested, response.getContent().stream().map(ProductBatchEntry::getProductId).toList());
+        assertEquals(List.of(true, false, true, true, false), response.getContent().stream().map(ProductBatchEntry::isFound).toList());
+        assertEquals("Product 7", response.getContent().get(0).getProduct().getProductName());
+        assertEquals("Product 2", response.getContent().get(2).getProduct().getProductName());
+        assertNull(response.getContent().get(1).getProduct());
+        assertNull(response.getContent().get(4).getProduct());
+        assertEquals(3, response.getFoundCount());
+        assertEquals(2, response.getNotFoundCount());
+    }
+
+    @Test
+    void onlyCacheMissesReachTheDatabase() {
+        assertEquals(1, statementsFor(() -> productService.getProductsByIds(List.of(productIds.get(2)))));
+        // The unknown id is not cached, so it is asked for again together with the new id
+        assertEquals(1, statementsFor(() -> productService.getProductsByIds(List.of(productIds.get(7), -1L, productIds.get(2)))));
+        assertEquals(0, statementsFor(() -> productService.getProductsByIds(List.of(productIds.get(2), productIds.get(7)))));
+    }
+
+    @Test
+    void splitsLargeRequestsIntoChunks() {
+        assertEquals(1, statementsFor(() -> productService.getProductsByIds(productIds)));
+        List<Long> withUnknown = new ArrayList<>(productIds);
+        for (long unknown = 1; unknown <= 100; unknown++) {
+            withUnknown.add(-unknown);
+        }
+        // 100 uncached unknown ids in one chunk, then 160 misses in two
+        assertEquals(1, statementsFor(() -> productService.getProductsByIds(withUnknown)));
+        catalogResponseCache.evictAll();
+        assertEquals(2, statementsFor(() -> productService.getProductsByIds(withUnknown)));
+    }
+
+    @Test
+    void productUpdatesAndDeletesEvictTheCachedEntry() {
+        Long productId = productIds.get(3);
+        productService.getProductsByIds(List.of(productId));
+
+        ProductDTO update = new ProductDTO(null, "Renamed product", null, "New description", 10, 250.0, 20.0, 0);
+        productService.updateProduct(productId, update);
+        ProductDTO cached = productService.getProductsByIds(List.of(productId)).getContent().get(0).getProduct();
+        assertEquals("Renamed product", cached.getProductName());
+        assertEquals(200.0, cached.getSpecialPrice());
+
+        productService.deleteProduct(productId);
+        assertFalse(productService.getProductsByIds(List.of(productId)).getContent().get(0).isFound());
+    }
+
+    @Test
+    void rolledBackUpdatesLeaveTheCacheAndVersionsAlone() {
+        Long productId = productIds.get(4);
+        productService.getProductsByIds(List.of(productId));
+        String etag = catalogVersion.globalETag("batch");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.updateProduct(productId, new ProductDTO(null, "Never committed", null, "Rolled back description", 10, 250.0, 20.0, 0));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(etag, catalogVersion.globalETag("batch"));
+        assertEquals(0, statementsFor(() -> productService.getProductsByIds(List.of(productId))));
+        assertEquals("Product 4", productService.getProductsByIds(List.of(productId)).getContent().get(0).getProduct().getProductName());
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndNullRequests() {
+        assertThrows(APIException.class, () -> productService.getProductsByIds(List.of()));
+        Long[] tooMany = new Long[501];
+        Arrays.fill(tooMany, 1L);
+        assertThrows(APIException.class, () -> productService.getProductsByIds(List.of(tooMany)));
+        assertThrows(APIException.class, () -> productService.getProductsByIds(Arrays.asList(1L, null)));
+        assertEquals(1, productService.getProductsByIds(List.of(-1L)).getNotFoundCount());
+    }
+
+    private long statementsFor(Runnable lookup) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        lookup.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
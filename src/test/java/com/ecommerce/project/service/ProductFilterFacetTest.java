@@ -0,0 +1,133 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.FacetCounts;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.search.ProductFacetIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:filter-facets",
+        "project.cache.maximum-size=0"
+})
+class ProductFilterFacetTest {
+
+    private static final int PRODUCT_COUNT = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        Category lighting = categoryRepository.save(new Category(null, "Lighting", null));
+        Category kitchen = categoryRepository.save(new Category(null, "Kitchen", null));
+        List<Product> seeded = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            double price = 10.0 * (i + 1);
+            double discount = (i % 4) * 10.0;
+            seeded.add(new Product(null, "Product " + i, "default.png", "Description " + i, i % 3 == 0 ? 0 : 5,
+                    price, discount, price - discount * 0.01 * price, i < 12 ? lighting : kitchen, 0));
+        }
+        products = productRepository.saveAll(seeded);
+        productFacetIndex.rebuild();
+    }
+
+    @Test
+    void filteredRowsAndFacetsAgreeWithTheCatalog() {
+        ProductFilter filter = new ProductFilter(45.0, 155.0, null, null, 10.0, true);
+
+        ProductResponse response = productService.getAllProducts(0, 50,
+                AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, filter);
+
+        Predicate<Product> priceMatch = product -> product.getPrice() >= 45 && product.getPrice() <= 155;
+        Predicate<Product> discountMatch = product -> product.getDiscount() >= 10;
+        Predicate<Product> inStock = product -> product.getQuantity() > 0;
+        List<Long> expected = productIds(priceMatch.and(discountMatch).and(inStock));
+        assertEquals(expected, response.getContent().stream().map(ProductDTO::getProductId).sorted().toList());
+        assertEquals(expected.size(), response.getTotalElements());
+
+        // Each facet ignores its own filter
+        FacetCounts facets = response.getFacets();
+        assertEquals(productIds(priceMatch.and(discountMatch).and(inStock)).size(), facets.getInStock());
+        assertEquals(productIds(priceMatch.and(discountMatch).and(inStock.negate())).size(), facets.getOutOfStock());
+        assertEquals(productIds(discountMatch.and(inStock)).size(),
+                facets.getPriceBuckets().values().stream().mapToLong(Long::longValue).sum());
+        Map<Long, Long> categories = new TreeMap<>();
+        products.stream().filter(priceMatch.and(discountMatch).and(inStock))
+                .forEach(product -> categories.merge(product.getCategory().getCategoryId(), 1L, Long::sum));
+        assertEquals(categories, facets.getCategories());
+    }
+
+    @Test
+    void facetsFollowProductUpdates() {
+        ProductFilter filter = new ProductFilter(null, null, null, null, null, null);
+        Product cheapest = products.get(0);
+        long belowFifty = productService.getAllProducts(0, 5, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR,
+                null, false, filter).getFacets().getPriceBuckets().get("25-50");
+
+        productService.updateProduct(cheapest.getProductId(),
+                new ProductDTO(null, cheapest.getProductName(), null, cheapest.getDescription(), 0, 40.0, 0.0, 0));
+
+        FacetCounts facets = productService.getAllProducts(0, 5, AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR,
+                null, false, filter).getFacets();
+        assertEquals(belowFifty + 1, facets.getPriceBuckets().get("25-50"));
+    }
+
+    @Test
+    void categoryCursorPagesKeepTheOffsetOrder() {
+        Long categoryId = products.get(0).getCategory().getCategoryId();
+        for (ProductFilter filter : List.of(new ProductFilter(), new ProductFilter(null, null, null, null, null, true))) {
+            List<Long> offsetOrder = new ArrayList<>();
+            ProductResponse page;
+            int pageNumber = 0;
+            do {
+                page = productService.searchByCategory(categoryId, pageNumber++, 5, "discount", "desc", null, false, filter);
+                page.getContent().forEach(product -> offsetOrder.add(product.getProductId()));
+            } while (!page.getLastPage());
+
+            List<Long> cursorOrder = new ArrayList<>();
+            String after = "";
+            do {
+                page = productService.searchByCategory(categoryId, 0, 5, "discount", "desc", after, false, filter);
+                page.getContent().forEach(product -> cursorOrder.add(product.getProductId()));
+                after = page.getNextCursor();
+            } while (after != null);
+
+            assertEquals(offsetOrder, cursorOrder);
+        }
+    }
+
+    private List<Long> productIds(Predicate<Product> predicate) {
+        return products.stream().filter(predicate).map(Product::getProductId).sorted().toList();
+    }
+}
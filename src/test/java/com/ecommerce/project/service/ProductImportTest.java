@@ -0,0 +1,88 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.ImportRowError;
+import com.ecommerce.project.payload.ProductImportResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-import",
+        "project.import.chunk-size=10"
+})
+class ProductImportTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void seedCategory() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        categoryId = categoryRepository.save(new Category(null, "Electronics", null)).getCategoryId();
+    }
+
+    @Test
+    void rowsRejectedByTheDatabaseAreReportedWithoutDroppingTheChunk() throws IOException {
+        // Passes bean validation but does not fit the product_name column
+        String tooLong = "x".repeat(300);
+        String csv = "categoryId,productName,description,quantity,price,discount\n"
+                + categoryId + ",Phone,A good phone,5,100,10\n"
+                + categoryId + "," + tooLong + ",A long name,5,100,10\n"
+                + categoryId + ",Tablet,A good tablet,5,200,0\n";
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(2, response.getImportedRows());
+        assertEquals(1, response.getFailedRows());
+        assertEquals(List.of(3L), response.getErrors().stream().map(ImportRowError::getLineNumber).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Could not be saved"));
+        assertEquals(2, productRepository.count());
+    }
+
+    @Test
+    void quotedFieldsMaySpanSeveralLines() throws IOException {
+        String csv = "categoryId,productName,description,quantity,price,discount\r\n"
+                + categoryId + ",Phone,\"First line\r\nsecond \"\"quoted\"\" line\nthird\",5,100,10\r\n"
+                + categoryId + ",Ab,Too short a name,5,100,10\r\n"
+                + categoryId + ",Tablet,\"Carriage\rreturn\",5,200,0";
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(2, response.getImportedRows());
+        // The phone record covers lines 2 to 4
+        assertEquals(List.of(5L), response.getErrors().stream().map(ImportRowError::getLineNumber).toList());
+        assertEquals("First line\r\nsecond \"quoted\" line\nthird", productRepository.findAll().stream()
+                .filter(product -> product.getProductName().equals("Phone"))
+                .findFirst().orElseThrow().getDescription());
+        assertEquals("Carriage\rreturn", productRepository.findAll().stream()
+                .filter(product -> product.getProductName().equals("Tablet"))
+                .findFirst().orElseThrow().getDescription());
+    }
+
+    private ProductImportResponse importCsv(String csv) throws IOException {
+        return productImportService.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv");
+    }
+}
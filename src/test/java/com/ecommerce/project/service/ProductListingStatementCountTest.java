@@ -0,0 +1,146 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.CatalogRowCounts;
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.search.ProductFacetIndex;
+import com.ecommerce.project.search.ProductSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing-statements",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "project.cache.maximum-size=0"
+})
+class ProductListingStatementCountTest {
+
+    private static final int PRODUCT_COUNT = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private CatalogRowCounts catalogRowCounts;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        Category category = categoryRepository.save(new Category(null, "Electronics", null));
+        categoryId = category.getCategoryId();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Product(null, "Product " + i, "default.png", "Description " + i, 10, 100.0 + i, 10.0, 90.0 + i, category, 0));
+        }
+        productRepository.saveAll(products);
+        productSearchIndex.rebuild();
+        productFacetIndex.rebuild();
+        catalogRowCounts.rebuild();
+    }
+
+    @Test
+    void getAllProductsRunsOneSelectPerPage() {
+        for (int pageSize : new int[]{5, 40}) {
+            assertEquals(1, statementsFor(() -> productService.getAllProducts(0, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, new ProductFilter())), "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    void getAllProductsTakesTotalsFromRowCounts() {
+        ProductResponse firstPage = productService.getAllProducts(0, 25,
+                AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, new ProductFilter());
+        assertEquals(PRODUCT_COUNT, firstPage.getTotalElements());
+        assertEquals(3, firstPage.getTotalPages());
+        assertFalse(firstPage.getLastPage());
+
+        ProductResponse lastPage = productService.getAllProducts(2, 25,
+                AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, false, new ProductFilter());
+        assertEquals(PRODUCT_COUNT - 50, lastPage.getContent().size());
+        assertNull(lastPage.getTotalElements());
+        assertTrue(lastPage.getLastPage());
+
+        ProductFilter filter = new ProductFilter();
+        filter.setMinPrice(150.0);
+        ProductResponse filteredPage = productService.getAllProducts(0, 5,
+                AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, filter);
+        assertEquals(10, filteredPage.getTotalElements());
+        assertEquals(2, filteredPage.getTotalPages());
+    }
+
+    @Test
+    void getAllProductsCursorPageRunsOneSelect() {
+        for (int pageSize : new int[]{5, 40}) {
+            assertEquals(1, statementsFor(() -> productService.getAllProducts(0, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, "", true, new ProductFilter())), "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    void searchByCategoryRunsCategoryLookupAndSelectPerPage() {
+        for (int pageSize : new int[]{5, 40}) {
+            assertEquals(2, statementsFor(() -> productService.searchByCategory(categoryId, 0, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR, null, true, new ProductFilter())), "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    void searchProductsByKeywordRunsSelectAndCountPerPage() {
+        for (int pageSize : new int[]{5, 40}) {
+            assertEquals(2, statementsFor(() -> productService.searchProductsByKeyword("product", 0, pageSize,
+                    AppConstants.SORT_PRODUCT_BY, AppConstants.SORT_DIR)), "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    void searchProductsByRelevanceRunsOneSelectPerPage() {
+        for (int pageSize : new int[]{5, 40}) {
+            assertEquals(1, statementsFor(() -> productService.searchProductsByKeyword("product", 0, pageSize,
+                    AppConstants.SORT_RELEVANCE, AppConstants.SORT_DIR)), "pageSize " + pageSize);
+        }
+    }
+
+    private long statementsFor(Runnable listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+}